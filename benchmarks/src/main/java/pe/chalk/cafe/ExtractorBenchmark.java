@@ -0,0 +1,79 @@
+package pe.chalk.cafe;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning list pages and article pages into articles, through {@link MemberArticle#fromElement} and both extractors.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractorBenchmark {
+    private final PageExtractor jsoup = new JsoupPageExtractor();
+    private final PageExtractor streaming = new StreamingPageExtractor();
+
+    private String listPage;
+    private String articlePage;
+    private Elements rows;
+    private Member writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.listPage = Fixtures.load("member-articles.html");
+        this.articlePage = Fixtures.load("article.html");
+        this.rows = Jsoup.parse(this.listPage).select("tr[align=center]:not([class])");
+        this.writer = new Member(Fixtures.CLUB_ID, "writer", "작성자");
+    }
+
+    @Benchmark
+    public void fromElement(Blackhole blackhole){
+        MemberArticle.cache.clear();
+        for(Element row : this.rows){
+            blackhole.consume(MemberArticle.fromElement(row, Fixtures.CLUB_ID, this.writer));
+        }
+    }
+
+    @Benchmark
+    public List<ArticleRow> jsoupRows(){
+        return this.jsoup.extractRows(this.listPage);
+    }
+
+    @Benchmark
+    public List<ArticleRow> streamingRows(){
+        return this.streaming.extractRows(this.listPage);
+    }
+
+    @Benchmark
+    public ArticleDetail jsoupDetail(){
+        return this.jsoup.extractDetail(this.articlePage);
+    }
+
+    @Benchmark
+    public ArticleDetail streamingDetail(){
+        return this.streaming.extractDetail(this.articlePage);
+    }
+}
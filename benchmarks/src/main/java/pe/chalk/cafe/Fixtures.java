@@ -0,0 +1,33 @@
+package pe.chalk.cafe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canned cafe pages shipped with the benchmarks.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public final class Fixtures {
+    public static final int CLUB_ID = 23683173;
+
+    private Fixtures(){}
+
+    public static String load(String name) throws IOException {
+        try(InputStream stream = Fixtures.class.getResourceAsStream("/fixtures/" + name)){
+            if(stream == null) throw new IOException("Fixture not found: " + name);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8 * 1024];
+
+            int read;
+            while((read = stream.read(buffer)) >= 0){
+                output.write(buffer, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package pe.chalk.cafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-day work of {@link AllocationInspector#inspect(List)} once the pages are fetched:
+ * splitting articles into the day, ranking, statistics and rendering the report, for a growing number of assignees.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InspectionBenchmark {
+    private static final int ALLOCATED_ARTICLES = 3;
+    private static final String TEMPLATE = "<html><body><pre>%s</pre></body></html>";
+
+    @Param({"10", "100", "1000", "10000"})
+    public int assignees;
+
+    private AllocationInspector inspector;
+    private List<Member> members;
+    private List<List<MemberArticle>> candidates;
+    private List<Result> results;
+    private List<Result> ranked;
+    private List<Inspection> inspections;
+    private Leaderboard leaderboard;
+    private Result[] alternatives;
+    private int updates;
+    private Path output;
+    private ReportWriter report;
+
+    private int dayStart, dayEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        final LocalDate date = LocalDate.of(2026, 10, 18);
+        this.dayStart = ArticleIndex.toEpochMinute(date.atStartOfDay(AllocationInspector.ZONE));
+        this.dayEnd = this.dayStart + 24 * 60;
+
+        MemberArticle.cache.configure(this.assignees * 16, Cache.FOREVER, TimeUnit.MILLISECONDS);
+
+        this.members = new ArrayList<>(this.assignees);
+        this.candidates = new ArrayList<>(this.assignees);
+
+        int articleId = 1000000;
+        for(int i = 0; i < this.assignees; i++){
+            Member member = new Member(Fixtures.CLUB_ID, "member" + i, "참여자" + i);
+            this.members.add(member);
+
+            List<MemberArticle> articles = new ArrayList<>();
+            int count = random.nextInt(ALLOCATED_ARTICLES * 2 + 1);
+            for(int j = 0; j < count; j++){
+                int minute = random.nextInt(36 * 60) - 6 * 60;
+                LocalDate uploadDate = minute < 0 ? date.minusDays(1) : minute >= 24 * 60 ? date.plusDays(1) : date;
+                int minuteOfDay = Math.floorMod(minute, 24 * 60);
+
+                MemberArticle article = new MemberArticle(Fixtures.CLUB_ID, articleId++, "할당 글 " + j, 0, uploadDate.format(MemberArticle.DATE_FORMAT), member);
+                article.setDetails(random.nextInt(10) == 0 ? AllocationInspector.EXCLUDED_MENU_ID : 1 + random.nextInt(20), String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60));
+                articles.add(article);
+            }
+            this.candidates.add(articles);
+        }
+
+        this.inspector = new AllocationInspector(Fixtures.CLUB_ID, ALLOCATED_ARTICLES, this.members);
+        this.results = this.filterChain();
+
+        this.ranked = new ArrayList<>(this.results);
+        Collections.sort(this.ranked);
+
+        List<String> messages = new ArrayList<>(this.inspector.printResultsWithRank(this.ranked));
+        messages.addAll(this.inspector.summarize(this.ranked, 0));
+        this.inspections = Collections.singletonList(new Inspection(this.inspector, date, this.ranked, String.join(String.format("%n"), messages)));
+
+        this.leaderboard = Leaderboard.of(this.results);
+        this.alternatives = new Result[]{this.results.get(0), new Result(this.members.get(0), new ArrayList<>(), ALLOCATED_ARTICLES)};
+
+        this.output = Files.createTempFile("AllocationInspector", ".html");
+        this.report = new ReportWriter(this.output, InspectionBenchmark.TEMPLATE);
+        this.report.write(this.inspections);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.output);
+    }
+
+    @Benchmark
+    public List<Result> filterChain(){
+        final List<Result> results = new ArrayList<>(this.assignees);
+        for(int i = 0; i < this.assignees; i++){
+            results.add(new Result(this.members.get(i), ArticleIndex.build(this.candidates.get(i)).slice(this.dayStart, this.dayEnd), ALLOCATED_ARTICLES));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<String> rank(){
+        final List<Result> results = new ArrayList<>(this.results);
+        results.sort(Result.COMPARATOR);
+
+        return this.inspector.printResultsWithRank(results);
+    }
+
+    @Benchmark
+    public List<String> statistics(){
+        return this.inspector.summarize(this.ranked, 0);
+    }
+
+    /**
+     * A pass in which one assignee changed: the leaderboard moves one result, then ranks and summarizes again.
+     */
+    @Benchmark
+    public List<String> rankIncremental(){
+        this.leaderboard.update(this.alternatives[this.updates++ & 1]);
+
+        List<String> messages = this.leaderboard.render();
+        messages.addAll(this.inspector.summarize(this.leaderboard, 0));
+        return messages;
+    }
+
+    /**
+     * Rendering and writing the whole report, as on the first pass or when every day changed.
+     */
+    @Benchmark
+    public boolean html() throws IOException {
+        return new ReportWriter(this.output, InspectionBenchmark.TEMPLATE).write(this.inspections);
+    }
+
+    /**
+     * A pass in which no result changed, so nothing is rendered or written.
+     */
+    @Benchmark
+    public boolean htmlUnchanged() throws IOException {
+        return this.report.write(this.inspections);
+    }
+}
@@ -1,22 +1,33 @@
 package pe.chalk.cafe;
 
 import org.json.JSONObject;
+import org.jsoup.nodes.Document;
 import pe.chalk.takoyaki.Takoyaki;
 import pe.chalk.takoyaki.Target;
 import pe.chalk.takoyaki.model.Member;
 import pe.chalk.takoyaki.utils.TextFormat;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -25,17 +36,36 @@ import java.util.stream.Collectors;
  */
 public class AllocationInspector {
     public static final String MEMBER_RECENT_ARTICLES_URL = "http://cafe.naver.com/CafeMemberNetworkArticleList.nhn?clubid=%s&search.clubid=%s&search.writerid=%s&search.page=%d";
+    public static final String BOARD_ARTICLES_URL = "http://cafe.naver.com/ArticleList.nhn?search.clubid=%s&search.boardtype=L&userDisplay=50&search.page=%d";
     public static final String DELIMITER = TextFormat.RESET.toString() + TextFormat.DARK_BLUE + "| " + TextFormat.BLUE;
 
-    public static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy.MM.dd.", Locale.KOREA);
-    public static final SimpleDateFormat KOREAN_DATE_FORMAT = new SimpleDateFormat("yyyy년 MM월 dd일 E요일", Locale.KOREA);
-    public static final SimpleDateFormat KOREAN_FULL_DATE_FORMAT = new SimpleDateFormat("yyyy년 MM월 dd일 HH시 mm분 ss초 SSS", Locale.KOREA);
+    public static final ZoneId ZONE = ZoneId.systemDefault();
+    public static final DateTimeFormatter KOREAN_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일 E요일", Locale.KOREA);
+    public static final DateTimeFormatter KOREAN_FULL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일 HH시 mm분 ss초 SSS", Locale.KOREA);
 
-    public static final Map<String, List<MemberArticle>> cache = new HashMap<>();
+    public static final int EXCLUDED_MENU_ID = 30;
+
+    public static final Cache<String, List<MemberArticle>> cache = new Cache<>("목록", 10000, 10, TimeUnit.MINUTES);
+    public static final Cache<String, List<ArticleRow>> boardCache = new Cache<>("게시판", 10000, 10, TimeUnit.MINUTES);
 
     private int clubId;
     private int allocatedArticles;
     private List<Member> assignees;
+    private Map<String, Member> assigneesById;
+
+    private CrawlMode mode = CrawlMode.MEMBER;
+    private int maxBoardPages = 100;
+
+    private HistoryStore historyStore;
+
+    private int workers = 0;
+    private ExecutorService executor;
+    private DetailResolver resolver;
+
+    private final Map<LocalDate, Inspection> finalized = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+    private final Map<String, Integer> highWaterMarks = new ConcurrentHashMap<>();
+    private final Map<String, List<MemberArticle>> history = new ConcurrentHashMap<>();
 
     public AllocationInspector(JSONObject properties){
         this.clubId = properties.getInt("clubId");
@@ -44,6 +74,25 @@ public class AllocationInspector {
             String[] a = assignee.split(":");
             return new Member(this.getTarget().getClubId(), a[0], a[1]);
         }).collect(Collectors.toList());
+        this.assigneesById = AllocationInspector.indexById(this.assignees);
+
+        this.mode = CrawlMode.valueOf(properties.optString("mode", "member").toUpperCase(Locale.ROOT));
+        this.maxBoardPages = properties.optInt("maxBoardPages", this.maxBoardPages);
+        this.workers = properties.optInt("workers", this.workers);
+    }
+
+    AllocationInspector(int clubId, int allocatedArticles, List<Member> assignees){
+        this.clubId = clubId;
+        this.allocatedArticles = allocatedArticles;
+        this.assignees = assignees;
+        this.assigneesById = AllocationInspector.indexById(assignees);
+    }
+
+    private static Map<String, Member> indexById(List<Member> assignees){
+        Map<String, Member> assigneesById = new HashMap<>(assignees.size() * 2);
+        assignees.forEach(assignee -> assigneesById.put(assignee.getId(), assignee));
+
+        return assigneesById;
     }
 
     public int getClubId(){
@@ -58,167 +107,538 @@ public class AllocationInspector {
         return this.assignees;
     }
 
+    /**
+     * @return the assignee with the id, or null if there is none
+     */
+    public Member getAssignee(String id){
+        return this.assigneesById.get(id);
+    }
+
+    public CrawlMode getMode(){
+        return this.mode;
+    }
+
+    /**
+     * @return the work queue of this target, whose threads default to as many as the sessions can run requests at once
+     */
+    public synchronized ExecutorService getExecutor(){
+        if(this.executor == null){
+            int threads = this.workers > 0 ? this.workers : Main.sessions == null ? 1 : Main.sessions.getMaxInFlight();
+            this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "AllocationInspector-" + this.getClubId());
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+
+    public synchronized DetailResolver getResolver(){
+        if(this.resolver == null) this.resolver = new DetailResolver(this.getExecutor());
+        return this.resolver;
+    }
+
+    public HistoryStore getHistoryStore(){
+        return this.historyStore;
+    }
+
+    public void setHistoryStore(HistoryStore historyStore){
+        this.historyStore = historyStore;
+    }
+
     public Target getTarget(){
         return Takoyaki.getInstance().getTarget(this.getClubId());
     }
 
     public List<MemberArticle> getRecentMemberArticles(Member member, int page) throws IOException {
         String key = member.getId() + "#" + page;
-        if(AllocationInspector.cache.containsKey(key)){
-            return AllocationInspector.cache.get(key);
+        List<MemberArticle> cached = AllocationInspector.cache.get(key);
+        if(cached != null){
+            return cached;
         }
 
-        Main.delay(500);
         Takoyaki.getInstance().getLogger().info(String.format("PARSE:  #%02d: %s", page, member));
 
-        List<MemberArticle> articles = Main.parse(String.format(AllocationInspector.MEMBER_RECENT_ARTICLES_URL, this.getClubId(), this.getClubId(), member.getId(), page))
-                .select("tr[align=center]:not([class])").stream()
-                .map(element -> MemberArticle.fromElement(element, this.getClubId(), member))
-                .sorted((a, b) -> a.getId() - b.getId())
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try{
+            List<ArticleRow> rows = AllocationInspector.extractRows(String.format(AllocationInspector.MEMBER_RECENT_ARTICLES_URL, this.getClubId(), this.getClubId(), member.getId(), page));
+            List<MemberArticle> articles = rows.stream()
+                    .map(row -> MemberArticle.fromRow(row, this.getClubId(), member))
+                    .sorted((a, b) -> a.getId() - b.getId())
+                    .collect(Collectors.toList());
 
-        if(articles.size() > 0) AllocationInspector.cache.put(key, articles);
-        return articles;
+            if(articles.size() > 0) AllocationInspector.cache.put(key, articles);
+            return articles;
+        }catch(IOException | RuntimeException e){
+            Metrics.counter("list_page_errors").increment();
+            throw e;
+        }finally{
+            Metrics.histogram("list_page").recordSince(start);
+        }
     }
 
-    public List<MemberArticle> getArticles(Member member, Date start, Date end){
-        return this.getArticles(member, start, end, 1);
+    private static List<ArticleRow> extractRows(String url) throws IOException {
+        Document document = Main.extractor.prefersDocument() ? Main.parse(url) : null;
+        String html = document == null ? Main.fetch(url) : null;
+
+        long start = System.nanoTime();
+        try{
+            return document == null ? Main.extractor.extractRows(html) : Main.extractor.extractRows(document);
+        }finally{
+            Metrics.histogram("extract_rows").recordSince(start);
+        }
     }
 
-    public List<MemberArticle> getArticles(Member member, Date start, Date end, int page){
-        final String startDate = AllocationInspector.DATE_FORMAT.format(start);
-        final String endDate = AllocationInspector.DATE_FORMAT.format(end);
+    /**
+     * @return the rows of one page of the club-wide article list, newest first
+     */
+    public List<ArticleRow> getBoardRows(int page) throws IOException {
+        String key = this.getClubId() + "#board#" + page;
+        List<ArticleRow> cached = AllocationInspector.boardCache.get(key);
+        if(cached != null){
+            return cached;
+        }
 
+        Takoyaki.getInstance().getLogger().info(String.format("PARSE:  #%02d: %s", page, this.getTarget().getName()));
+
+        long start = System.nanoTime();
         try{
-            List<MemberArticle> articles = this.getRecentMemberArticles(member, page);
-            if(articles.size() > 0){
-                String uploadDate = articles.get(0).getUploadDate();
-                if(endDate.compareTo(uploadDate) < 0 || startDate.compareTo(uploadDate) < 0){
-                    articles.addAll(this.getArticles(member, start, end, page + 1));
+            List<ArticleRow> rows = Collections.unmodifiableList(AllocationInspector.extractRows(String.format(AllocationInspector.BOARD_ARTICLES_URL, this.getClubId(), page)));
+            if(rows.size() > 0) AllocationInspector.boardCache.put(key, rows);
+            return rows;
+        }catch(IOException | RuntimeException e){
+            Metrics.counter("board_page_errors").increment();
+            throw e;
+        }finally{
+            Metrics.histogram("board_page").recordSince(start);
+        }
+    }
+
+    /**
+     * Pages through the club-wide article list once until it reaches back to {@code first}, and joins every row against the assignees.
+     *
+     * @return the articles of each assignee uploaded on the dates from {@code first} to {@code last}, in assignee order
+     */
+    public List<List<MemberArticle>> scanBoard(LocalDate first, LocalDate last){
+        return this.scanBoard(first, last, new boolean[this.getAssignees().size()]);
+    }
+
+    /**
+     * @param incomplete set for every assignee if the scan stopped before reaching back to {@code first}, because a page failed or {@code maxBoardPages} were read
+     */
+    private List<List<MemberArticle>> scanBoard(LocalDate first, LocalDate last, boolean[] incomplete){
+        final Map<String, List<MemberArticle>> articles = new HashMap<>();
+        final Set<Integer> seen = new HashSet<>();
+        boolean reached = false;
+        try{
+            for(int page = 1; page <= this.maxBoardPages && !reached; page++){
+                List<ArticleRow> rows = this.getBoardRows(page);
+                if(rows.isEmpty()){
+                    reached = true;
+                    break;
+                }
+
+                for(ArticleRow row : rows){
+                    Member writer = row.getWriterId() == null ? null : this.assigneesById.get(row.getWriterId());
+                    // rows shift to the next page while new articles are uploaded during the scan
+                    if(writer == null || !seen.add(row.getId())) continue;
+
+                    MemberArticle article = MemberArticle.fromRow(row, this.getClubId(), writer);
+                    LocalDate uploadDate = article.getUploadLocalDate();
+                    if(uploadDate == null) continue;
+
+                    if(!uploadDate.isBefore(first) && !uploadDate.isAfter(last)) articles.computeIfAbsent(writer.getId(), id -> new ArrayList<>()).add(article);
                 }
+
+                LocalDate pageEnd = MemberArticle.parseUploadDate(rows.get(rows.size() - 1).getUploadDate());
+                reached = pageEnd != null && !pageEnd.isAfter(first);
             }
 
-            return articles.stream()
-                    .filter(article -> article.getUploadDate().equals(startDate) || article.getUploadDate().equals(endDate))
-                    .filter(article -> AllocationInspector.inRange(start, end, article.getDate()))
-                    .filter(article -> article.getMenuId() != 30)
-                    .collect(Collectors.toList());
+            if(!reached){
+                Metrics.counter("board_scan_truncated").increment();
+                Takoyaki.getInstance().getLogger().error(String.format("게시판 %d쪽 안에 %s까지의 글이 없습니다: %s", this.maxBoardPages, first, this.getTarget().getName()));
+            }
         }catch(Exception e){
             e.printStackTrace();
-            return new ArrayList<>();
         }
+        if(!reached) Arrays.fill(incomplete, true);
+
+        return this.getAssignees().stream().map(assignee -> articles.getOrDefault(assignee.getId(), new ArrayList<>())).collect(Collectors.toList());
     }
 
-    public static boolean inRange(Date start, Date end, Date target){
-        return start.compareTo(target) <= 0 && target.compareTo(end) < 0;
+    public List<MemberArticle> getArticles(Member member, ZonedDateTime start, ZonedDateTime end){
+        List<MemberArticle> candidates = this.getCandidates(member, start.toLocalDate(), end.toLocalDate());
+        this.getResolver().resolve(candidates);
+
+        return ArticleIndex.build(candidates).slice(ArticleIndex.toEpochMinute(start), ArticleIndex.toEpochMinute(end));
     }
 
-    public String inspect(Date date){
-        Calendar calendar = Calendar.getInstance(Locale.KOREA);
-        calendar.setTime(date);
+    /**
+     * @return the articles of the member uploaded on the dates from {@code first} to {@code last}, which may not be resolved yet
+     */
+    public List<MemberArticle> getCandidates(Member member, LocalDate first, LocalDate last){
+        try{
+            return this.fetchCandidates(member, first, last);
+        }catch(Exception e){
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-        calendar.set(Calendar.HOUR_OF_DAY, Main.midnightHour);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        Date start = calendar.getTime();
+    /**
+     * @throws IOException if a list page of the member could not be fetched
+     */
+    private List<MemberArticle> fetchCandidates(Member member, LocalDate first, LocalDate last) throws IOException {
+        List<MemberArticle> articles = Main.incremental ? this.poll(member, first) : this.crawl(member, first);
+        return articles.stream()
+                .filter(article -> {
+                    LocalDate uploadDate = article.getUploadLocalDate();
+                    return uploadDate != null && !uploadDate.isBefore(first) && !uploadDate.isAfter(last);
+                })
+                .collect(Collectors.toList());
+    }
 
-        calendar.add(Calendar.DATE, 1);
-        Date end = calendar.getTime();
+    /**
+     * Walks the list pages of the member from the newest one until a page reaches back to {@code first}.
+     * The cached pages are never modified.
+     */
+    private List<MemberArticle> crawl(Member member, LocalDate first) throws IOException {
+        final List<MemberArticle> articles = new ArrayList<>();
+        for(int page = 1; ; page++){
+            List<MemberArticle> recentArticles = this.getRecentMemberArticles(member, page);
+            articles.addAll(recentArticles);
+
+            if(recentArticles.isEmpty() || !AllocationInspector.isAfter(recentArticles.get(0), first)) break;
+        }
+        return articles;
+    }
 
-        return this.inspect(start, end);
+    private static boolean isAfter(MemberArticle article, LocalDate date){
+        LocalDate uploadDate = article.getUploadLocalDate();
+        return uploadDate != null && uploadDate.isAfter(date);
     }
 
-    public String inspect(Date start, Date end){
-        List<String> messages = new ArrayList<>();
-        messages.add(String.format("%s%s[%s]   %s%s검사시각: %s%n",
-                TextFormat.BOLD, TextFormat.BLUE, AllocationInspector.KOREAN_DATE_FORMAT.format(start),
-                TextFormat.RESET, TextFormat.GRAY, AllocationInspector.KOREAN_FULL_DATE_FORMAT.format(new Date())));
+    /**
+     * Fetches only the articles newer than the highest article id seen for this member, and merges them into its history.
+     * The first poll of a member walks back until {@code first} is covered; later polls stop at the first page that holds an already seen id.
+     *
+     * @return every known article of the member, sorted by id
+     */
+    public List<MemberArticle> poll(Member member, LocalDate first) throws IOException {
+        final Integer highWaterMark = this.highWaterMarks.get(member.getId());
+
+        final List<MemberArticle> fresh = new ArrayList<>();
+        for(int page = 1; ; page++){
+            List<MemberArticle> articles = this.getRecentMemberArticles(member, page);
+            if(articles.isEmpty()) break;
 
-        final long startTime = System.currentTimeMillis();
+            List<MemberArticle> unseen = highWaterMark == null ? articles : articles.stream().filter(article -> article.getId() > highWaterMark).collect(Collectors.toList());
+            fresh.addAll(unseen);
 
-        final List<Result> results = this.getAssignees().stream().map(assignee -> new Result(assignee, this.getArticles(assignee, start, end), this.getAllocatedArticles())).sorted().collect(Collectors.toList());
-        messages.addAll(this.printResultsWithRank(results));
+            boolean hasMore = highWaterMark == null ? AllocationInspector.isAfter(articles.get(0), first) : unseen.size() == articles.size();
+            if(!hasMore) break;
+        }
 
-        final long aliveAssignees     = results.stream().filter(Result::isAlive).count();
-        final long succeededAssignees = results.stream().filter(Result::isSucceeded).count();
-        final long totalArticles      = results.stream().mapToLong(Result::size).sum();
+        final List<MemberArticle> known = this.history.computeIfAbsent(member.getId(), id -> new ArrayList<>());
+        synchronized(known){
+            known.addAll(fresh);
+            known.sort((a, b) -> a.getId() - b.getId());
 
-        final int totalAssignees = this.getAssignees().size();
+            if(!known.isEmpty()) this.highWaterMarks.merge(member.getId(), known.get(known.size() - 1).getId(), Math::max);
+            return new ArrayList<>(known);
+        }
+    }
 
-        final double average             =      totalArticles * 1.0 / totalAssignees;
-        final double alivePercentage     =     aliveAssignees * 1.0 / totalAssignees;
-        final double succeededPercentage = succeededAssignees * 1.0 / totalAssignees;
+    /**
+     * Forgets the articles uploaded before {@code before}, which no inspected day can contain any more.
+     */
+    public void prune(LocalDate before){
+        this.history.values().forEach(known -> {
+            synchronized(known){
+                known.removeIf(article -> article.getUploadLocalDate() == null || article.getUploadLocalDate().isBefore(before));
+            }
+        });
+    }
 
-        final Map<Integer, Long> map = results.stream().collect(Collectors.groupingBy(Result::size, Collectors.counting()));
-        final double standardDeviation = Math.sqrt(map.entrySet().stream().mapToDouble(entry -> Math.pow(entry.getKey() - average, 2) * entry.getValue()).sum() / totalAssignees);
+    public boolean isFinalized(LocalDate date){
+        return this.finalized.containsKey(date);
+    }
 
-        messages.add(String.format("%s참여자: %s%4d명 %s달성자: %s%4d명 %s총합: %s%5d개 %s소요시간: %s%6.2f초 %s",
-                AllocationInspector.DELIMITER, TextFormat.BOLD, aliveAssignees,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, succeededAssignees,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, totalArticles,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, (System.currentTimeMillis() - startTime) / 1000.0,
-                AllocationInspector.DELIMITER));
+    /**
+     * Freezes the day of the inspection: later passes serve it as is without crawling.
+     */
+    public void markFinalized(Inspection inspection){
+        this.finalized.put(inspection.getDate(), inspection);
+        this.leaderboards.remove(inspection.getDate());
+    }
 
-        messages.add(String.format("%s참여율:　%s%4.1f%% %s달성률:　%s%4.1f%% %s평균: %s%5.2f개 %s표준편차: %s%6.2f개 %s%n%n",
-                AllocationInspector.DELIMITER, TextFormat.BOLD, alivePercentage * 100,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, succeededPercentage * 100,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, average,
-                AllocationInspector.DELIMITER, TextFormat.BOLD, standardDeviation,
-                AllocationInspector.DELIMITER));
+    /**
+     * Forgets the finalized days and the leaderboards before {@code before}.
+     */
+    public void pruneFinalized(LocalDate before){
+        this.finalized.keySet().removeIf(date -> date.isBefore(before));
+        this.leaderboards.keySet().removeIf(date -> date.isBefore(before));
+    }
 
-        return String.join(String.format("%n"), messages);
+    Map<String, Integer> getHighWaterMarks(){
+        return this.highWaterMarks;
     }
 
-    private List<String> printResultsWithRank(final List<Result> results){
-        final List<Rank<Result>> ranks = new ArrayList<>();
-        final int size = results.size();
+    /**
+     * @return the known articles of each member for incremental polls; lock a list before reading it
+     */
+    Map<String, List<MemberArticle>> getHistory(){
+        return this.history;
+    }
 
-        Rank<Result> currentRank = new Rank<>(0);
-        for(int i = 0; i < size; i++){
-            Result result = results.get(i);
+    /**
+     * Puts back the known articles of a member read from a {@link Checkpoint}, into the list that {@link #poll(Member, LocalDate)} merges into.
+     */
+    void restoreHistory(String writerId, List<MemberArticle> articles){
+        final List<MemberArticle> known = this.history.computeIfAbsent(writerId, id -> new ArrayList<>());
+        synchronized(known){
+            known.clear();
+            known.addAll(articles);
+            known.sort((a, b) -> a.getId() - b.getId());
+        }
+    }
 
-            if(i != 0 && Result.COMPARATOR.compare(results.get(i - 1), result) != 0){
-                ranks.add(currentRank);
-                currentRank = new Rank<>(i);
-            }
-            currentRank.add(result);
+    /**
+     * Puts back a day read from a {@link Checkpoint}: a finalized day is frozen again, and the results of an open day fill its leaderboard.
+     *
+     * @return the restored inspection
+     */
+    Inspection restore(LocalDate date, List<Result> results, String message, boolean finalized){
+        if(finalized){
+            List<Result> ranked = new ArrayList<>(results);
+            ranked.sort(Leaderboard.ORDER);
+
+            Inspection inspection = new Inspection(this, date, ranked, message);
+            this.markFinalized(inspection);
+            return inspection;
         }
-        ranks.add(currentRank);
 
-        return ranks.stream().flatMap((final Rank<Result> rank) -> rank.getRankers(Comparator.comparing((Result result) -> result.getWriter().toString())).stream().map(result -> result.toString(String.format("#%02d ", rank.getRank() + 1)))).collect(Collectors.toList());
+        Leaderboard leaderboard = this.getLeaderboard(date);
+        results.forEach(leaderboard::update);
+        return new Inspection(this, date, leaderboard.getResults(), message);
     }
 
-    class Rank<T>{
-        private int rank;
-        private ArrayList<T> rankers;
+    /**
+     * @return the leaderboard of the day, which keeps the results of the previous pass until they are replaced
+     */
+    public Leaderboard getLeaderboard(LocalDate date){
+        return this.leaderboards.computeIfAbsent(date, day -> new Leaderboard());
+    }
 
-        public Rank(int rank){
-            this(rank, new ArrayList<>());
-        }
+    public static ZonedDateTime getDayStart(LocalDate date){
+        return date.atTime(Main.midnightHour, 0).atZone(AllocationInspector.ZONE);
+    }
+
+    public String inspect(LocalDate date){
+        return this.inspect(Collections.singletonList(date)).get(0).getMessage();
+    }
+
+    /**
+     * Crawls every assignee once for the whole window covered by the days of {@code dates} that are not finalized yet, and splits the articles into the days.
+     * Finalized days are returned as they were finalized.
+     *
+     * @return one inspection per date, in the same order
+     */
+    public List<Inspection> inspect(List<LocalDate> dates){
+        final List<LocalDate> open = dates.stream().filter(date -> !this.isFinalized(date)).collect(Collectors.toList());
+        if(open.size() == dates.size()) return this.inspectOpen(dates);
+
+        final Map<LocalDate, Inspection> crawled = new HashMap<>();
+        if(!open.isEmpty()) this.inspectOpen(open).forEach(inspection -> crawled.put(inspection.getDate(), inspection));
+
+        return dates.stream().map(date -> crawled.containsKey(date) ? crawled.get(date) : this.finalized.get(date)).collect(Collectors.toList());
+    }
 
-        public Rank(int rank, ArrayList<T> rankers){
-            this.rank = rank;
-            this.rankers = rankers;
+    private List<Inspection> inspectOpen(List<LocalDate> dates){
+        final long startTime = System.currentTimeMillis();
+
+        final LocalDate first = dates.stream().min(LocalDate::compareTo).orElseThrow(IllegalArgumentException::new);
+        final LocalDate last = dates.stream().max(LocalDate::compareTo).orElseThrow(IllegalArgumentException::new).plusDays(1);
+
+        final boolean[] incomplete = new boolean[this.getAssignees().size()];
+        final List<List<MemberArticle>> candidates;
+        if(this.getMode() == CrawlMode.BOARD) candidates = this.scanBoard(first, last, incomplete);
+        else if(Main.shards != null && !Main.shards.isEmpty()) candidates = this.crawlShards(Main.shards, first, last, incomplete);
+        else candidates = this.crawlAssignees(this.getAssignees(), first, last, incomplete);
+        this.resolve(candidates, incomplete);
+
+        final int[] dayStarts = dates.stream().mapToInt(date -> ArticleIndex.toEpochMinute(AllocationInspector.getDayStart(date))).toArray();
+        final int[] dayEnds = dates.stream().mapToInt(date -> ArticleIndex.toEpochMinute(AllocationInspector.getDayStart(date.plusDays(1)))).toArray();
+
+        final List<Leaderboard> leaderboards = dates.stream().map(this::getLeaderboard).collect(Collectors.toList());
+        int changed = 0;
+        for(int i = 0; i < candidates.size(); i++){
+            final ArticleIndex index = ArticleIndex.build(candidates.get(i));
+            for(int j = 0; j < dates.size(); j++){
+                if(leaderboards.get(j).update(new Result(this.getAssignees().get(i), index.slice(dayStarts[j], dayEnds[j]), this.getAllocatedArticles(), incomplete[i]))) changed++;
+            }
         }
+        Metrics.counter("results_changed").add(changed);
 
-        public int getRank(){
-            return this.rank;
+        final double elapsed = (System.currentTimeMillis() - startTime) / 1000.0;
+        final List<Inspection> inspections = new ArrayList<>(dates.size());
+        for(int j = 0; j < dates.size(); j++){
+            Leaderboard leaderboard = leaderboards.get(j);
+            inspections.add(new Inspection(this, dates.get(j), leaderboard.getResults(), this.render(dates.get(j), leaderboard, elapsed)));
         }
+        return inspections;
+    }
 
-        public ArrayList<T> getRankers(){
-            return this.rankers;
+    /**
+     * Resolves the candidates of every member at once.
+     *
+     * @param incomplete set for each member with a candidate that could not be resolved, since it may belong to any of the days
+     */
+    void resolve(List<List<MemberArticle>> candidates, boolean[] incomplete){
+        final Set<MemberArticle> unresolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        unresolved.addAll(this.getResolver().resolve(candidates.stream().flatMap(List::stream).collect(Collectors.toList())));
+        if(unresolved.isEmpty()) return;
+
+        for(int i = 0; i < candidates.size(); i++){
+            if(!incomplete[i] && candidates.get(i).stream().anyMatch(unresolved::contains)){
+                Metrics.counter("incomplete_results").increment();
+                incomplete[i] = true;
+            }
         }
+    }
 
-        public ArrayList<T> getRankers(Comparator<T> comparator){
-            ArrayList<T> rankers = new ArrayList<>(this.getRankers());
-            Collections.sort(rankers, comparator);
+    /**
+     * @param incomplete set for each member whose list pages could not be fetched; such a member gets no candidates
+     * @return the candidates of each member, in the order of {@code members}
+     */
+    List<List<MemberArticle>> crawlAssignees(List<Member> members, LocalDate first, LocalDate last, boolean[] incomplete){
+        final List<Future<List<MemberArticle>>> futures = members.stream().map(assignee -> this.getExecutor().submit(() -> this.fetchCandidates(assignee, first, last))).collect(Collectors.toList());
+        final List<List<MemberArticle>> candidates = new ArrayList<>(futures.size());
+        for(int i = 0; i < futures.size(); i++){
+            try{
+                candidates.add(futures.get(i).get());
+            }catch(ExecutionException e){
+                e.getCause().printStackTrace();
+                Metrics.counter("incomplete_results").increment();
+
+                incomplete[i] = true;
+                candidates.add(new ArrayList<>());
+            }catch(InterruptedException e){
+                throw new IllegalStateException("Failed to inspect assignee", e);
+            }
+        }
+        return candidates;
+    }
 
-            return rankers;
+    /**
+     * Splits the assignees into contiguous shards, one per worker, and crawls the shards at once on the workers.
+     * An assignee always lands on the same worker while the assignees and workers stay the same, so the incremental state of each worker stays valid.
+     *
+     * @param incomplete set for each assignee the worker could not crawl completely, and for every assignee of a worker that failed
+     */
+    private List<List<MemberArticle>> crawlShards(List<ShardClient> shards, LocalDate first, LocalDate last, boolean[] incomplete){
+        final int size = this.getAssignees().size();
+        final List<Future<List<List<MemberArticle>>>> futures = new ArrayList<>(shards.size());
+        final int[] bounds = new int[shards.size() + 1];
+        for(int i = 0; i < shards.size(); i++){
+            final int from = bounds[i] = (int) ((long) size * i / shards.size());
+            final int to = bounds[i + 1] = (int) ((long) size * (i + 1) / shards.size());
+            final ShardClient shard = shards.get(i);
+
+            futures.add(ShardClient.REQUESTS.submit(() -> {
+                boolean[] shardIncomplete = new boolean[to - from];
+                List<List<MemberArticle>> candidates = shard.crawl(this, this.getAssignees().subList(from, to), first, last, shardIncomplete);
+                System.arraycopy(shardIncomplete, 0, incomplete, from, to - from);
+
+                return candidates;
+            }));
         }
 
-        public boolean add(T t){
-            return rankers.add(t);
+        final List<List<MemberArticle>> candidates = new ArrayList<>(size);
+        for(int i = 0; i < futures.size(); i++){
+            try{
+                candidates.addAll(futures.get(i).get());
+            }catch(ExecutionException e){
+                e.getCause().printStackTrace();
+                Metrics.counter("shard_errors").increment();
+                Takoyaki.getInstance().getLogger().error("작업자에게 검사를 맡기지 못했습니다: " + shards.get(i) + ": " + this.getTarget().getName());
+
+                for(int j = bounds[i]; j < bounds[i + 1]; j++){
+                    incomplete[j] = true;
+                    candidates.add(new ArrayList<>());
+                }
+            }catch(InterruptedException e){
+                throw new IllegalStateException("Failed to inspect shard", e);
+            }
         }
+        return candidates;
+    }
+
+    private String render(LocalDate date, Leaderboard leaderboard, double elapsed){
+        List<String> messages = new ArrayList<>();
+        messages.add(String.format("%s%s[%s]   %s%s검사시각: %s%n",
+                TextFormat.BOLD, TextFormat.BLUE, AllocationInspector.KOREAN_DATE_FORMAT.format(date),
+                TextFormat.RESET, TextFormat.GRAY, AllocationInspector.KOREAN_FULL_DATE_FORMAT.format(ZonedDateTime.now(AllocationInspector.ZONE))));
+
+        messages.addAll(leaderboard.render());
+        messages.addAll(this.summarize(leaderboard, elapsed));
+
+        return String.join(String.format("%n"), messages);
+    }
+
+    List<String> summarize(List<Result> results, double elapsed){
+        return this.summarize(Leaderboard.of(results), elapsed);
+    }
+
+    /**
+     * Results that are {@link Result#isUnknown() unknown} are left out of every figure instead of being counted as zeros.
+     * Every figure comes from the running sums of the leaderboard, so this does not depend on the number of assignees.
+     */
+    List<String> summarize(Leaderboard leaderboard, double elapsed){
+        final List<String> messages = new ArrayList<>(2);
+
+        final long unknownAssignees   = leaderboard.getUnknown();
+        final long aliveAssignees     = leaderboard.getAlive();
+        final long succeededAssignees = leaderboard.getSucceeded();
+        final long totalArticles      = leaderboard.getTotal();
+
+        final long totalAssignees = Math.max(1, this.getAssignees().size() - unknownAssignees);
+
+        final double average             =      totalArticles * 1.0 / totalAssignees;
+        final double alivePercentage     =     aliveAssignees * 1.0 / totalAssignees;
+        final double succeededPercentage = succeededAssignees * 1.0 / totalAssignees;
+
+        final double squaredDeviations = leaderboard.getSumOfSquares() - 2 * average * totalArticles + leaderboard.getKnown() * average * average;
+        final double standardDeviation = Math.sqrt(Math.max(0, squaredDeviations) / totalAssignees);
+
+        messages.add(String.format("%s참여자: %s%4d명 %s달성자: %s%4d명 %s총합: %s%5d개 %s소요시간: %s%6.2f초 %s",
+                AllocationInspector.DELIMITER, TextFormat.BOLD, aliveAssignees,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, succeededAssignees,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, totalArticles,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, elapsed,
+                AllocationInspector.DELIMITER)
+                + (unknownAssignees > 0 ? String.format("미확인: %s%4d명 %s", TextFormat.BOLD, unknownAssignees, AllocationInspector.DELIMITER) : ""));
+
+        messages.add(String.format("%s참여율:　%s%4.1f%% %s달성률:　%s%4.1f%% %s평균: %s%5.2f개 %s표준편차: %s%6.2f개 %s%n%n",
+                AllocationInspector.DELIMITER, TextFormat.BOLD, alivePercentage * 100,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, succeededPercentage * 100,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, average,
+                AllocationInspector.DELIMITER, TextFormat.BOLD, standardDeviation,
+                AllocationInspector.DELIMITER));
+
+        return messages;
+    }
+
+    List<String> printResultsWithRank(final List<Result> results){
+        return Leaderboard.of(results).render();
+    }
+
+    /**
+     * How the articles of the assignees are found: one list crawl per assignee, or one scan of the club-wide list joined against the assignees.
+     * Board scans pay off when the club has many assignees relative to its overall activity.
+     */
+    public enum CrawlMode {
+        MEMBER, BOARD
     }
 }
@@ -0,0 +1,49 @@
+package pe.chalk.cafe;
+
+import java.util.Objects;
+
+/**
+ * Header of an article page: the menu the article was posted to and the text of its date cell.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleDetail {
+    private final int menuId;
+    private final String date;
+
+    public ArticleDetail(int menuId, String date){
+        this.menuId = menuId;
+        this.date = date;
+    }
+
+    /**
+     * @return the menu id, or 0 if the page has no menu link
+     */
+    public int getMenuId(){
+        return this.menuId;
+    }
+
+    public String getDate(){
+        return this.date;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(this == o) return true;
+        if(!(o instanceof ArticleDetail)) return false;
+
+        ArticleDetail that = (ArticleDetail) o;
+        return this.menuId == that.menuId && Objects.equals(this.date, that.date);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(this.menuId, this.date);
+    }
+
+    @Override
+    public String toString(){
+        return "menu " + this.menuId + " at " + this.date;
+    }
+}
@@ -0,0 +1,96 @@
+package pe.chalk.cafe;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolved articles of one member as parallel primitive columns (article id, epoch-minute, menu id), sorted by time.
+ * Articles that are not resolved yet or belong to {@link AllocationInspector#EXCLUDED_MENU_ID} are left out when the index is built,
+ * so the articles of a time range are found by two binary searches.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleIndex {
+    private static final Comparator<MemberArticle> ORDER = Comparator.comparingInt(MemberArticle::getEpochMinute).thenComparingInt(MemberArticle::getId);
+
+    private final int[] ids;
+    private final int[] epochMinutes;
+    private final int[] menuIds;
+    private final List<MemberArticle> articles;
+
+    private ArticleIndex(MemberArticle[] articles){
+        this.ids = new int[articles.length];
+        this.epochMinutes = new int[articles.length];
+        this.menuIds = new int[articles.length];
+        this.articles = Collections.unmodifiableList(Arrays.asList(articles));
+
+        for(int i = 0; i < articles.length; i++){
+            this.ids[i] = articles[i].getId();
+            this.epochMinutes[i] = articles[i].getEpochMinute();
+            this.menuIds[i] = articles[i].getMenuId(false);
+        }
+    }
+
+    public static ArticleIndex build(Collection<MemberArticle> articles){
+        MemberArticle[] indexed = articles.stream()
+                .filter(article -> article.getEpochMinute() != MemberArticle.UNKNOWN_TIME && article.getMenuId(false) != AllocationInspector.EXCLUDED_MENU_ID)
+                .sorted(ArticleIndex.ORDER)
+                .toArray(MemberArticle[]::new);
+
+        return new ArticleIndex(indexed);
+    }
+
+    public static int toEpochMinute(ZonedDateTime time){
+        return (int) Math.floorDiv(time.toEpochSecond(), 60);
+    }
+
+    public int size(){
+        return this.ids.length;
+    }
+
+    public int getId(int index){
+        return this.ids[index];
+    }
+
+    public int getEpochMinute(int index){
+        return this.epochMinutes[index];
+    }
+
+    public int getMenuId(int index){
+        return this.menuIds[index];
+    }
+
+    public MemberArticle get(int index){
+        return this.articles.get(index);
+    }
+
+    /**
+     * @return the first index whose epoch-minute is not less than {@code epochMinute}
+     */
+    public int lowerBound(int epochMinute){
+        int low = 0, high = this.epochMinutes.length;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(this.epochMinutes[middle] < epochMinute) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    public int count(int startMinute, int endMinute){
+        return Math.max(0, this.lowerBound(endMinute) - this.lowerBound(startMinute));
+    }
+
+    /**
+     * @return a read-only view of the articles uploaded in {@code [startMinute, endMinute)}
+     */
+    public List<MemberArticle> slice(int startMinute, int endMinute){
+        int from = this.lowerBound(startMinute);
+        return this.articles.subList(from, Math.max(from, this.lowerBound(endMinute)));
+    }
+}
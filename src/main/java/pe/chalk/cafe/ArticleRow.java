@@ -0,0 +1,71 @@
+package pe.chalk.cafe;
+
+import java.util.Objects;
+
+/**
+ * One row of a member's or a club's article list, as extracted from the list page.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleRow {
+    private final int id;
+    private final String title;
+    private final int commentCount;
+    private final String uploadDate;
+    private final String writerId;
+
+    public ArticleRow(int id, String title, int commentCount, String uploadDate){
+        this(id, title, commentCount, uploadDate, null);
+    }
+
+    public ArticleRow(int id, String title, int commentCount, String uploadDate, String writerId){
+        this.id = id;
+        this.title = title;
+        this.commentCount = commentCount;
+        this.uploadDate = uploadDate;
+        this.writerId = writerId;
+    }
+
+    public int getId(){
+        return this.id;
+    }
+
+    public String getTitle(){
+        return this.title;
+    }
+
+    public int getCommentCount(){
+        return this.commentCount;
+    }
+
+    public String getUploadDate(){
+        return this.uploadDate;
+    }
+
+    /**
+     * @return the id of the writer, or null if the row has no writer column (as in a member's own article list)
+     */
+    public String getWriterId(){
+        return this.writerId;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(this == o) return true;
+        if(!(o instanceof ArticleRow)) return false;
+
+        ArticleRow that = (ArticleRow) o;
+        return this.id == that.id && this.commentCount == that.commentCount && Objects.equals(this.title, that.title) && Objects.equals(this.uploadDate, that.uploadDate) && Objects.equals(this.writerId, that.writerId);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(this.id, this.title, this.commentCount, this.uploadDate, this.writerId);
+    }
+
+    @Override
+    public String toString(){
+        return "[" + this.id + "] " + this.title + " (" + this.commentCount + ") " + this.uploadDate + (this.writerId == null ? "" : " by " + this.writerId);
+    }
+}
@@ -0,0 +1,225 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.Takoyaki;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only file of resolved article details, keyed by club id and article id, since article ids are only unique within a club.
+ * The file is memory-mapped for reads and indexed once on open; a record written later for the same article wins.
+ * A single mapping cannot reach past 2 GiB, so the file stops growing there and later articles are only kept in memory.
+ *
+ * <pre>
+ * file   := MAGIC record*
+ * record := length(int) id(int) targetId(int) menuId(int) uploadDate uploadTime writerId title
+ * string := length(short) UTF-8 bytes
+ * </pre>
+ *
+ * The upload date is always a full date in {@link MemberArticle#DATE_FORMAT}; records that only hold the time of the list page are ignored.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleStore implements Closeable {
+    private static final int MAGIC = 0x41525431;
+    private static final long MAXIMUM_SIZE = Integer.MAX_VALUE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<Long, Long> index = new HashMap<>();
+
+    private MappedByteBuffer mapped;
+    private long size;
+    private boolean full;
+
+    public ArticleStore(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = this.channel.size();
+
+        if(this.size < 4){
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(0, ArticleStore.MAGIC);
+            this.channel.truncate(0);
+            this.channel.write(header, 0);
+            this.size = 4;
+        }
+
+        this.map();
+        if(this.mapped.getInt(0) != ArticleStore.MAGIC){
+            this.channel.close();
+            throw new IOException("Not an article store: " + path);
+        }
+
+        long position = 4;
+        while(position + 4 <= this.size){
+            int length = this.mapped.getInt((int) position);
+            if(length < 12 || position + 4 + length > this.size) break;
+
+            this.index.put(MemberArticle.key(this.mapped.getInt((int) position + 8), this.mapped.getInt((int) position + 4)), position);
+            position += 4 + length;
+        }
+
+        if(position < this.size){
+            this.channel.truncate(position);
+            this.size = position;
+            this.map();
+        }
+    }
+
+    public Path getPath(){
+        return this.path;
+    }
+
+    public synchronized int size(){
+        return this.index.size();
+    }
+
+    public synchronized boolean contains(int clubId, int id){
+        return this.index.containsKey(MemberArticle.key(clubId, id));
+    }
+
+    public synchronized Entry get(int clubId, int id){
+        Long position = this.index.get(MemberArticle.key(clubId, id));
+        if(position == null) return null;
+
+        try{
+            if(position >= this.mapped.capacity()) this.map();
+
+            ByteBuffer buffer = this.mapped.duplicate();
+            buffer.position((int) (position + 4));
+
+            Entry entry = new Entry(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                    ArticleStore.readString(buffer), ArticleStore.readString(buffer), ArticleStore.readString(buffer), ArticleStore.readString(buffer));
+            return entry.getUploadLocalDate() == null ? null : entry;
+        }catch(IOException e){
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public synchronized void put(MemberArticle article) throws IOException {
+        byte[] uploadDate = ArticleStore.bytes(article.getFullUploadDate());
+        byte[] uploadTime = ArticleStore.bytes(article.getUploadTime(false));
+        byte[] writerId = ArticleStore.bytes(article.getWriter().getId());
+        byte[] title = ArticleStore.bytes(article.getTitle());
+
+        int length = 12 + 8 + uploadDate.length + uploadTime.length + writerId.length + title.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + length);
+        buffer.putInt(length).putInt(article.getId()).putInt(article.getClubId()).putInt(article.getMenuId(false));
+        for(byte[] string : new byte[][]{uploadDate, uploadTime, writerId, title}){
+            buffer.putShort((short) string.length).put(string);
+        }
+        buffer.flip();
+
+        if(this.size + buffer.remaining() > ArticleStore.MAXIMUM_SIZE){
+            if(!this.full) Takoyaki.getInstance().getLogger().error("게시글 저장소가 가득 찼습니다: " + this.path + " (" + this.size + " bytes)");
+            this.full = true;
+            return;
+        }
+
+        long position = this.size;
+        while(buffer.hasRemaining()){
+            position += this.channel.write(buffer, position);
+        }
+
+        this.index.put(MemberArticle.key(article.getClubId(), article.getId()), this.size);
+        this.size = position;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(!this.channel.isOpen()) return;
+
+        this.channel.force(true);
+        this.channel.close();
+    }
+
+    private void map() throws IOException {
+        this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+    }
+
+    private static byte[] bytes(String string){
+        if(string == null) return new byte[0];
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > Short.MAX_VALUE) throw new IllegalArgumentException("String too long: " + bytes.length + " bytes");
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static class Entry {
+        private final int id;
+        private final int targetId;
+        private final int menuId;
+        private final String uploadDate;
+        private final String uploadTime;
+        private final String writerId;
+        private final String title;
+
+        public Entry(int id, int targetId, int menuId, String uploadDate, String uploadTime, String writerId, String title){
+            this.id = id;
+            this.targetId = targetId;
+            this.menuId = menuId;
+            this.uploadDate = uploadDate;
+            this.uploadTime = uploadTime;
+            this.writerId = writerId;
+            this.title = title;
+        }
+
+        public int getId(){
+            return this.id;
+        }
+
+        public int getTargetId(){
+            return this.targetId;
+        }
+
+        public int getMenuId(){
+            return this.menuId;
+        }
+
+        public String getUploadDate(){
+            return this.uploadDate;
+        }
+
+        /**
+         * @return the upload date, or {@code null} if the record holds no full date
+         */
+        public LocalDate getUploadLocalDate(){
+            try{
+                return LocalDate.parse(this.uploadDate, MemberArticle.DATE_FORMAT);
+            }catch(DateTimeParseException e){
+                return null;
+            }
+        }
+
+        public String getUploadTime(){
+            return this.uploadTime;
+        }
+
+        public String getWriterId(){
+            return this.writerId;
+        }
+
+        public String getTitle(){
+            return this.title;
+        }
+    }
+}
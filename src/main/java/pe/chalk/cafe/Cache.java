@@ -0,0 +1,148 @@
+package pe.chalk.cafe;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe LRU cache with a size limit, per-entry time-to-live and hit/miss/eviction counters.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Cache<K, V> {
+    public static final long FOREVER = Long.MAX_VALUE;
+
+    private final String name;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int maximumSize;
+    private long ttlMillis;
+
+    private long hits, misses, evictions, expirations;
+
+    public Cache(String name, int maximumSize, long ttl, TimeUnit unit){
+        this.name = name;
+        this.configure(maximumSize, ttl, unit);
+    }
+
+    public String getName(){
+        return this.name;
+    }
+
+    public synchronized void configure(int maximumSize, long ttl, TimeUnit unit){
+        if(maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttl == Cache.FOREVER ? Cache.FOREVER : unit.toMillis(ttl);
+        this.evict();
+    }
+
+    public synchronized V get(K key){
+        Entry<V> entry = this.entries.get(key);
+        if(entry == null){
+            this.misses++;
+            return null;
+        }
+
+        if(entry.isExpired(System.currentTimeMillis())){
+            this.entries.remove(key);
+            this.expirations++;
+            this.misses++;
+            return null;
+        }
+
+        this.hits++;
+        return entry.value;
+    }
+
+    public void put(K key, V value){
+        this.put(key, value, this.ttlMillis);
+    }
+
+    public synchronized void put(K key, V value, long ttlMillis){
+        long now = System.currentTimeMillis();
+        long expiresAt = ttlMillis == Cache.FOREVER || now + ttlMillis < now ? Long.MAX_VALUE : now + ttlMillis;
+
+        this.entries.put(key, new Entry<>(value, expiresAt));
+        this.evict();
+    }
+
+    public synchronized V remove(K key){
+        Entry<V> entry = this.entries.remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * @return the number of entries removed
+     */
+    public synchronized int removeIf(Predicate<? super K> filter){
+        int size = this.entries.size();
+        this.entries.keySet().removeIf(filter);
+        return size - this.entries.size();
+    }
+
+    public synchronized void clear(){
+        this.entries.clear();
+    }
+
+    public synchronized int size(){
+        return this.entries.size();
+    }
+
+    public synchronized long getHits(){
+        return this.hits;
+    }
+
+    public synchronized long getMisses(){
+        return this.misses;
+    }
+
+    public synchronized long getEvictions(){
+        return this.evictions;
+    }
+
+    public synchronized long getExpirations(){
+        return this.expirations;
+    }
+
+    public synchronized double getHitRatio(){
+        long requests = this.hits + this.misses;
+        return requests == 0 ? 0 : this.hits * 1.0 / requests;
+    }
+
+    private void evict(){
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<K, Entry<V>>> iterator = this.entries.entrySet().iterator();
+
+        while(this.entries.size() > this.maximumSize && iterator.hasNext()){
+            Entry<V> entry = iterator.next().getValue();
+            iterator.remove();
+
+            if(entry.isExpired(now)) this.expirations++;
+            else this.evictions++;
+        }
+    }
+
+    @Override
+    public synchronized String toString(){
+        return String.format("%s: %d/%d개, 적중 %d, 실패 %d (적중률 %.1f%%), 축출 %d, 만료 %d",
+                this.name, this.entries.size(), this.maximumSize, this.hits, this.misses, this.getHitRatio() * 100, this.evictions, this.expirations);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt){
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now){
+            return now >= this.expiresAt;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * One change between two consecutive passes, for one assignee on one day of a target.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ChangeEvent {
+    public enum Type {
+        /** The article now counts for the assignee. */
+        NEW_ARTICLE,
+        /** The article no longer counts for the assignee, e.g. after it was moved to the excluded menu or deleted. */
+        REMOVED_ARTICLE,
+        /** The menu or upload time of the article changed; the values are {@code menuId@HH:mm}. */
+        RECLASSIFIED_ARTICLE,
+        /** The color of the result changed, e.g. from RED to GREEN. */
+        STATUS_CHANGED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final ZonedDateTime time;
+    private final int clubId;
+    private final LocalDate date;
+    private final String writerId;
+    private final int articleId;
+    private final String before, after;
+
+    public ChangeEvent(long sequence, Type type, ZonedDateTime time, int clubId, LocalDate date, String writerId, int articleId, String before, String after){
+        this.sequence = sequence;
+        this.type = type;
+        this.time = time;
+        this.clubId = clubId;
+        this.date = date;
+        this.writerId = writerId;
+        this.articleId = articleId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public long getSequence(){
+        return this.sequence;
+    }
+
+    public Type getType(){
+        return this.type;
+    }
+
+    public ZonedDateTime getTime(){
+        return this.time;
+    }
+
+    public int getClubId(){
+        return this.clubId;
+    }
+
+    public LocalDate getDate(){
+        return this.date;
+    }
+
+    public String getWriterId(){
+        return this.writerId;
+    }
+
+    /**
+     * @return the id of the article, or 0 for {@link Type#STATUS_CHANGED}
+     */
+    public int getArticleId(){
+        return this.articleId;
+    }
+
+    public String getBefore(){
+        return this.before;
+    }
+
+    public String getAfter(){
+        return this.after;
+    }
+
+    public JSONObject toJSON(){
+        JSONObject json = new JSONObject();
+        json.put("sequence", this.getSequence());
+        json.put("type", this.getType().name());
+        json.put("time", this.getTime().toString());
+        json.put("clubId", this.getClubId());
+        json.put("date", this.getDate().toString());
+        json.put("writerId", this.getWriterId());
+        if(this.getArticleId() != 0) json.put("articleId", this.getArticleId());
+        json.put("before", this.getBefore() == null ? JSONObject.NULL : this.getBefore());
+        json.put("after", this.getAfter() == null ? JSONObject.NULL : this.getAfter());
+        return json;
+    }
+
+    @Override
+    public String toString(){
+        return "#" + this.getSequence() + " " + this.getType() + " " + this.getClubId() + "/" + this.getDate() + " " + this.getWriterId()
+                + (this.getArticleId() == 0 ? "" : " [" + this.getArticleId() + "]") + ": " + this.getBefore() + " -> " + this.getAfter();
+    }
+}
@@ -0,0 +1,282 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.Takoyaki;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of every inspector, so that a restarted process can publish its last report at once and keep polling incrementally.
+ * The file is forced to disk and replaced atomically at most every {@code interval}, and once more on shutdown.
+ *
+ * <pre>
+ * file       := MAGIC createdAt(long) count(int) target*
+ * target     := clubId(int) count(int) article* count(int) cursor* count(int) history* count(int) day*
+ * article    := id(int) commentCount(int) menuId(int) uploadDate(UTF) uploadTime(UTF) title(UTF) writerId(UTF)
+ * cursor     := writerId(UTF) highWaterMark(int)
+ * history    := writerId(UTF) count(int) articleId(int)*
+ * day        := order(int) epochDay(long) finalized(boolean) message count(int) result*
+ * result     := writerId(UTF) incomplete(boolean) count(int) articleId(int)*
+ * message    := length(int) UTF-8 bytes
+ * </pre>
+ *
+ * Every article is stored once per target and referred to by id; {@code order} is the position of the day in the report.
+ * {@code uploadDate} is always a full date, since the time that list pages show for today's articles would be read as the day of the restart.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x434B5031;
+
+    private final Path path;
+    private final Duration interval;
+
+    private List<Inspection> latest = Collections.emptyList();
+    private long writtenAt = 0;
+
+    public Checkpoint(Path path, Duration interval){
+        this.path = path;
+        this.interval = interval;
+    }
+
+    public Path getPath(){
+        return this.path;
+    }
+
+    /**
+     * Remembers the inspections of a pass, and writes them out if the last checkpoint is older than the interval.
+     *
+     * @param inspections the inspections of the pass, in report order
+     */
+    public synchronized void update(List<Inspection> inspections){
+        this.latest = inspections;
+        if(System.currentTimeMillis() - this.writtenAt < this.interval.toMillis()) return;
+
+        this.save();
+    }
+
+    /**
+     * Writes out the state of the inspectors with the inspections of the last pass.
+     */
+    public synchronized void save(){
+        if(this.latest.isEmpty()) return;
+
+        final long start = System.nanoTime();
+        try{
+            final Path temp = Files.createTempFile(this.path.toAbsolutePath().getParent(), this.path.getFileName().toString(), ".tmp");
+            try{
+                try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+                    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                    this.write(output);
+                    output.flush();
+                    channel.force(true);
+                }
+
+                ReportWriter.replace(temp, this.path);
+            }finally{
+                Files.deleteIfExists(temp);
+            }
+
+            this.writtenAt = System.currentTimeMillis();
+            Takoyaki.getInstance().getLogger().info("체크포인트를 저장했습니다: " + this.path + " (" + Files.size(this.path) + " bytes)");
+        }catch(IOException e){
+            Metrics.counter("checkpoint_errors").increment();
+            e.printStackTrace();
+        }finally{
+            Metrics.histogram("checkpoint").recordSince(start);
+        }
+    }
+
+    private void write(DataOutputStream output) throws IOException {
+        output.writeInt(Checkpoint.MAGIC);
+        output.writeLong(System.currentTimeMillis());
+        output.writeInt(Main.inspectors.size());
+
+        for(AllocationInspector inspector : Main.inspectors){
+            final Map<Integer, MemberArticle> articles = new LinkedHashMap<>();
+            final Map<String, List<MemberArticle>> history = new HashMap<>();
+            inspector.getHistory().forEach((writerId, known) -> {
+                synchronized(known){
+                    history.put(writerId, new ArrayList<>(known));
+                }
+            });
+            history.values().forEach(known -> known.forEach(article -> articles.putIfAbsent(article.getId(), article)));
+
+            final List<Integer> orders = new ArrayList<>();
+            final List<Inspection> days = new ArrayList<>();
+            for(int i = 0; i < this.latest.size(); i++){
+                Inspection inspection = this.latest.get(i);
+                if(inspection.getInspector() != inspector) continue;
+
+                orders.add(i);
+                days.add(inspection);
+                inspection.getResults().forEach(result -> result.getArticles().forEach(article -> articles.putIfAbsent(article.getId(), article)));
+            }
+
+            output.writeInt(inspector.getClubId());
+
+            output.writeInt(articles.size());
+            for(MemberArticle article : articles.values()){
+                output.writeInt(article.getId());
+                output.writeInt(article.getCommentCount());
+                output.writeInt(article.getMenuId(false));
+                output.writeUTF(Checkpoint.orEmpty(article.getFullUploadDate()));
+                output.writeUTF(Checkpoint.orEmpty(article.getUploadTime(false)));
+                output.writeUTF(Checkpoint.orEmpty(article.getTitle()));
+                output.writeUTF(article.getWriter().getId());
+            }
+
+            final Map<String, Integer> highWaterMarks = new HashMap<>(inspector.getHighWaterMarks());
+            output.writeInt(highWaterMarks.size());
+            for(Map.Entry<String, Integer> entry : highWaterMarks.entrySet()){
+                output.writeUTF(entry.getKey());
+                output.writeInt(entry.getValue());
+            }
+
+            output.writeInt(history.size());
+            for(Map.Entry<String, List<MemberArticle>> entry : history.entrySet()){
+                output.writeUTF(entry.getKey());
+                Checkpoint.writeIds(output, entry.getValue());
+            }
+
+            output.writeInt(days.size());
+            for(int i = 0; i < days.size(); i++){
+                Inspection inspection = days.get(i);
+                output.writeInt(orders.get(i));
+                output.writeLong(inspection.getDate().toEpochDay());
+                output.writeBoolean(inspector.isFinalized(inspection.getDate()));
+
+                byte[] message = inspection.getMessage().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(message.length);
+                output.write(message);
+
+                output.writeInt(inspection.getResults().size());
+                for(Result result : inspection.getResults()){
+                    output.writeUTF(result.getWriter().getId());
+                    output.writeBoolean(result.isIncomplete());
+                    Checkpoint.writeIds(output, result.getArticles());
+                }
+            }
+        }
+    }
+
+    private static void writeIds(DataOutputStream output, List<MemberArticle> articles) throws IOException {
+        output.writeInt(articles.size());
+        for(MemberArticle article : articles) output.writeInt(article.getId());
+    }
+
+    /**
+     * Restores the state of the inspectors from the checkpoint, leaving out the days before {@code first}, and the targets and assignees that are no longer configured.
+     *
+     * @return the restored inspections in report order, or an empty list if there is no checkpoint
+     */
+    public synchronized List<Inspection> load(LocalDate first) throws IOException {
+        if(Files.notExists(this.path)) return Collections.emptyList();
+
+        final long start = System.nanoTime();
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(this.path)));
+        if(input.readInt() != Checkpoint.MAGIC) throw new IOException("Not a checkpoint: " + this.path);
+
+        final long createdAt = input.readLong();
+        final Map<Integer, Inspection> restored = new HashMap<>();
+
+        final int targets = input.readInt();
+        for(int t = 0; t < targets; t++){
+            final int clubId = input.readInt();
+            final AllocationInspector inspector = Main.inspectors.stream().filter(target -> target.getClubId() == clubId).findFirst().orElse(null);
+
+            final Map<Integer, MemberArticle> articles = new HashMap<>();
+            final int articleCount = input.readInt();
+            for(int i = 0; i < articleCount; i++){
+                final int id = input.readInt(), commentCount = input.readInt(), menuId = input.readInt();
+                final String uploadDate = input.readUTF(), uploadTime = input.readUTF(), title = input.readUTF();
+                final String writerId = input.readUTF();
+                final Member writer = inspector == null ? null : inspector.getAssignee(writerId);
+                if(writer != null) articles.put(id, MemberArticle.fromSummary(clubId, id, commentCount, menuId, uploadDate, uploadTime, title, writer));
+            }
+
+            final int cursorCount = input.readInt();
+            for(int i = 0; i < cursorCount; i++){
+                final String writerId = input.readUTF();
+                final int highWaterMark = input.readInt();
+                if(inspector != null && inspector.getAssignee(writerId) != null) inspector.getHighWaterMarks().put(writerId, highWaterMark);
+            }
+
+            final int historyCount = input.readInt();
+            for(int i = 0; i < historyCount; i++){
+                final String writerId = input.readUTF();
+                final List<MemberArticle> known = Checkpoint.readArticles(input, articles);
+                if(inspector != null && inspector.getAssignee(writerId) != null) inspector.restoreHistory(writerId, known);
+            }
+
+            final int dayCount = input.readInt();
+            for(int i = 0; i < dayCount; i++){
+                final int order = input.readInt();
+                final LocalDate date = LocalDate.ofEpochDay(input.readLong());
+                final boolean finalized = input.readBoolean();
+
+                final byte[] message = new byte[input.readInt()];
+                input.readFully(message);
+
+                final List<Result> results = new ArrayList<>();
+                final int resultCount = input.readInt();
+                for(int j = 0; j < resultCount; j++){
+                    final String writerId = input.readUTF();
+                    final Member writer = inspector == null ? null : inspector.getAssignee(writerId);
+                    final boolean incomplete = input.readBoolean();
+                    final List<MemberArticle> dayArticles = Checkpoint.readArticles(input, articles);
+                    if(writer != null) results.add(new Result(writer, dayArticles, inspector.getAllocatedArticles(), incomplete));
+                }
+
+                if(inspector == null || date.isBefore(first)) continue;
+                restored.put(order, inspector.restore(date, results, new String(message, StandardCharsets.UTF_8), finalized));
+            }
+        }
+
+        final List<Inspection> inspections = new ArrayList<>(restored.size());
+        restored.keySet().stream().sorted().forEach(order -> inspections.add(restored.get(order)));
+
+        this.latest = inspections;
+        this.writtenAt = System.currentTimeMillis();
+        Metrics.histogram("checkpoint_load").recordSince(start);
+        Takoyaki.getInstance().getLogger().info(String.format("체크포인트를 불러왔습니다: 검사 %d개, %d초 전 (%s)", inspections.size(), (System.currentTimeMillis() - createdAt) / 1000, this.path));
+
+        return inspections;
+    }
+
+    /**
+     * @return the articles with the ids that were restored, in order
+     */
+    private static List<MemberArticle> readArticles(DataInputStream input, Map<Integer, MemberArticle> articles) throws IOException {
+        final int count = input.readInt();
+        final List<MemberArticle> result = new ArrayList<>(count);
+        for(int i = 0; i < count; i++){
+            MemberArticle article = articles.get(input.readInt());
+            if(article != null) result.add(article);
+        }
+        return result;
+    }
+
+    private static String orEmpty(String string){
+        return string == null ? "" : string;
+    }
+}
@@ -0,0 +1,118 @@
+package pe.chalk.cafe;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending requests once too many of the recent ones failed.
+ * While open, every request fails at once; after {@code openMillis} a single trial request is let through,
+ * and the breaker closes again if it succeeds.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+    private final int minimumRequests;
+    private final double failureRate;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int position, count, failures;
+    private long openedAt;
+    private boolean trial;
+
+    public CircuitBreaker(int window, int minimumRequests, double failureRate, long openMillis){
+        if(window <= 0) throw new IllegalArgumentException("window must be positive: " + window);
+
+        this.outcomes = new boolean[window];
+        this.minimumRequests = Math.min(window, Math.max(1, minimumRequests));
+        this.failureRate = failureRate;
+        this.openMillis = openMillis;
+    }
+
+    public synchronized State getState(){
+        return this.state;
+    }
+
+    /**
+     * @return whether {@link #acquire()} would let a request through now
+     */
+    public synchronized boolean isAvailable(){
+        switch(this.state){
+            case OPEN:
+                return System.currentTimeMillis() >= this.openedAt + this.openMillis;
+
+            case HALF_OPEN:
+                return !this.trial;
+
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @throws CircuitOpenException if the request may not be sent now
+     */
+    public synchronized void acquire() throws CircuitOpenException {
+        switch(this.state){
+            case CLOSED:
+                return;
+
+            case OPEN:
+                long remaining = this.openedAt + this.openMillis - System.currentTimeMillis();
+                if(remaining > 0) throw new CircuitOpenException(remaining);
+
+                this.state = State.HALF_OPEN;
+                this.trial = true;
+                return;
+
+            case HALF_OPEN:
+                if(this.trial) throw new CircuitOpenException(0);
+                this.trial = true;
+        }
+    }
+
+    public synchronized void record(boolean success){
+        if(this.state == State.HALF_OPEN){
+            this.trial = false;
+            if(success){
+                this.state = State.CLOSED;
+                this.position = this.count = this.failures = 0;
+            }else{
+                this.open();
+            }
+            return;
+        }
+        if(this.state == State.OPEN) return;
+
+        if(this.count == this.outcomes.length){
+            if(!this.outcomes[this.position]) this.failures--;
+        }else{
+            this.count++;
+        }
+        this.outcomes[this.position] = success;
+        if(!success) this.failures++;
+        this.position = (this.position + 1) % this.outcomes.length;
+
+        if(this.count >= this.minimumRequests && this.failures >= this.failureRate * this.count) this.open();
+    }
+
+    private void open(){
+        this.state = State.OPEN;
+        this.openedAt = System.currentTimeMillis();
+        Metrics.counter("circuit_opened").increment();
+    }
+
+    public static class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(long remainingMillis){
+            super("Circuit breaker is open" + (remainingMillis > 0 ? " for " + TimeUnit.MILLISECONDS.toSeconds(remainingMillis) + "s" : ""));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package pe.chalk.cafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the menu id and upload time of a batch of articles before they are filtered.
+ * Every unresolved article is fetched once per id, and the fetches are queued on the work queue of the target so that
+ * as many of them run at once as the sessions allow.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class DetailResolver {
+    private final Executor executor;
+
+    public DetailResolver(Executor executor){
+        this.executor = executor;
+    }
+
+    /**
+     * @return the articles that are still not resolved, because their article page could not be fetched or read
+     */
+    public List<MemberArticle> resolve(Collection<MemberArticle> articles){
+        final Map<Integer, MemberArticle> pending = new LinkedHashMap<>();
+        final List<MemberArticle> duplicates = new ArrayList<>();
+
+        for(MemberArticle article : articles){
+            if(article.isResolved()) continue;
+
+            MemberArticle previous = pending.putIfAbsent(article.getId(), article);
+            if(previous != null && previous != article) duplicates.add(article);
+        }
+        if(pending.isEmpty()) return new ArrayList<>();
+
+        final List<CompletableFuture<Boolean>> updates = pending.values().stream()
+                .map(article -> CompletableFuture.supplyAsync(article::update, this.executor))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(updates.toArray(new CompletableFuture<?>[0])).join();
+
+        duplicates.forEach(article -> article.copyDetails(pending.get(article.getId())));
+        return articles.stream().filter(article -> !article.isResolved()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.Takoyaki;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Computes the changes between consecutive passes and hands them to the listeners.
+ * Events wait on a bounded queue that a single daemon thread drains, so a slow listener never holds up a pass;
+ * when the queue is full, the oldest event is dropped.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class EventBus {
+    private final BlockingQueue<ChangeEvent> queue;
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private long sequence = 0;
+    private Map<String, State> previous = null;
+
+    public EventBus(int capacity){
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Thread dispatcher = new Thread(this::dispatch, "EventBus");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public void addListener(Consumer<ChangeEvent> listener){
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ChangeEvent> listener){
+        this.listeners.remove(listener);
+    }
+
+    private void dispatch(){
+        while(!Thread.currentThread().isInterrupted()){
+            try{
+                ChangeEvent event = this.queue.take();
+                for(Consumer<ChangeEvent> listener : this.listeners){
+                    try{
+                        listener.accept(event);
+                    }catch(Exception e){
+                        e.printStackTrace();
+                    }
+                }
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void publish(ChangeEvent event){
+        while(!this.queue.offer(event)){
+            if(this.queue.poll() != null) Metrics.counter("events_dropped").increment();
+        }
+        Metrics.counter("events").increment();
+    }
+
+    /**
+     * Compares the inspections of a pass with those of the previous pass and publishes the differences.
+     * The first pass only sets the baseline, and days that leave the window are forgotten silently.
+     *
+     * @return the published events
+     */
+    public synchronized List<ChangeEvent> update(List<Inspection> inspections){
+        final ZonedDateTime now = ZonedDateTime.now(AllocationInspector.ZONE);
+        final Map<String, State> current = new HashMap<>();
+        final List<ChangeEvent> events = new ArrayList<>();
+
+        for(Inspection inspection : inspections){
+            final int clubId = inspection.getInspector().getClubId();
+            for(Result result : inspection.getResults()){
+                final String writerId = result.getWriter().getId();
+                final String key = clubId + "#" + inspection.getDate() + "#" + writerId;
+                if(result.isIncomplete()){
+                    // missing articles of an incomplete result are not removals; keep the last complete state
+                    if(this.previous != null && this.previous.containsKey(key)) current.put(key, this.previous.get(key));
+                    continue;
+                }
+
+                final State state = new State(result);
+                current.put(key, state);
+
+                if(this.previous == null) continue;
+                final State before = this.previous.getOrDefault(key, State.EMPTY);
+
+                state.articles.forEach((articleId, details) -> {
+                    String previousDetails = before.articles.get(articleId);
+                    if(previousDetails == null){
+                        events.add(new ChangeEvent(++this.sequence, ChangeEvent.Type.NEW_ARTICLE, now, clubId, inspection.getDate(), writerId, articleId, null, details));
+                    }else if(!previousDetails.equals(details)){
+                        events.add(new ChangeEvent(++this.sequence, ChangeEvent.Type.RECLASSIFIED_ARTICLE, now, clubId, inspection.getDate(), writerId, articleId, previousDetails, details));
+                    }
+                });
+                before.articles.forEach((articleId, details) -> {
+                    if(!state.articles.containsKey(articleId)){
+                        events.add(new ChangeEvent(++this.sequence, ChangeEvent.Type.REMOVED_ARTICLE, now, clubId, inspection.getDate(), writerId, articleId, details, null));
+                    }
+                });
+
+                if(before.color != null && !before.color.equals(state.color)){
+                    events.add(new ChangeEvent(++this.sequence, ChangeEvent.Type.STATUS_CHANGED, now, clubId, inspection.getDate(), writerId, 0, before.color, state.color));
+                }
+            }
+        }
+
+        this.previous = current;
+        events.forEach(this::publish);
+        if(!events.isEmpty()) Takoyaki.getInstance().getLogger().info("변경 사항 " + events.size() + "건을 알립니다");
+
+        return events;
+    }
+
+    private static class State {
+        private static final State EMPTY = new State();
+
+        private final String color;
+        private final Map<Integer, String> articles;
+
+        private State(){
+            this.color = null;
+            this.articles = Collections.emptyMap();
+        }
+
+        private State(Result result){
+            this.color = result.getColor().name();
+            this.articles = new HashMap<>(result.size() * 2);
+            for(MemberArticle article : result.getArticles()){
+                this.articles.put(article.getId(), article.getMenuId(false) + "@" + article.getUploadTime(false));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package pe.chalk.cafe;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only archive of fetched pages, each body gzip-compressed and indexed by URL on open.
+ * A URL fetched several times keeps every recorded body, in recording order.
+ *
+ * <pre>
+ * file   := MAGIC record*
+ * record := urlLength(int) url bodyLength(int) gzip(body)
+ * </pre>
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class FetchArchive implements Closeable {
+    private static final int MAGIC = 0x46415231;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, List<long[]>> index = new HashMap<>();
+    private final Map<String, Integer> cursors = new HashMap<>();
+
+    private long size;
+    private int records;
+
+    public FetchArchive(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = this.channel.size();
+
+        if(this.size < 4){
+            this.channel.truncate(0);
+            this.channel.write(ByteBuffer.allocate(4).putInt(0, FetchArchive.MAGIC), 0);
+            this.size = 4;
+        }else if(this.readInt(0) != FetchArchive.MAGIC){
+            this.channel.close();
+            throw new IOException("Not a fetch archive: " + path);
+        }
+
+        long position = 4;
+        while(position + 4 <= this.size){
+            int urlLength = this.readInt(position);
+            if(urlLength <= 0 || position + 8 + urlLength > this.size) break;
+
+            int bodyLength = this.readInt(position + 4 + urlLength);
+            long bodyPosition = position + 8 + urlLength;
+            if(bodyLength < 0 || bodyPosition + bodyLength > this.size) break;
+
+            String url = new String(this.read(position + 4, urlLength), StandardCharsets.UTF_8);
+            this.index.computeIfAbsent(url, key -> new ArrayList<>()).add(new long[]{bodyPosition, bodyLength});
+            this.records++;
+
+            position = bodyPosition + bodyLength;
+        }
+
+        if(position < this.size){
+            this.channel.truncate(position);
+            this.size = position;
+        }
+    }
+
+    /**
+     * Opens the archive and closes it on shutdown, so that the recorded pages are forced to disk.
+     */
+    public static FetchArchive open(Path path) throws IOException {
+        FetchArchive archive = new FetchArchive(path);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try{
+                archive.close();
+            }catch(IOException e){
+                e.printStackTrace();
+            }
+        }));
+        return archive;
+    }
+
+    public Path getPath(){
+        return this.path;
+    }
+
+    public synchronized int getRecords(){
+        return this.records;
+    }
+
+    public synchronized int getUrls(){
+        return this.index.size();
+    }
+
+    public synchronized void put(String url, String body) throws IOException {
+        byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+        byte[] bodyBytes = FetchArchive.compress(body.getBytes(StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + urlBytes.length + bodyBytes.length);
+        buffer.putInt(urlBytes.length).put(urlBytes).putInt(bodyBytes.length).put(bodyBytes).flip();
+
+        long position = this.size;
+        while(buffer.hasRemaining()){
+            position += this.channel.write(buffer, position);
+        }
+
+        this.index.computeIfAbsent(url, key -> new ArrayList<>()).add(new long[]{this.size + 8 + urlBytes.length, bodyBytes.length});
+        this.records++;
+        this.size = position;
+    }
+
+    /**
+     * Replays the recorded bodies of the URL in recording order, and keeps serving the last one once they run out.
+     *
+     * @return the next recorded body, or {@code null} if the URL was never recorded
+     */
+    public String next(String url) throws IOException {
+        long[] location;
+        synchronized(this){
+            List<long[]> locations = this.index.get(url);
+            if(locations == null) return null;
+
+            int cursor = this.cursors.getOrDefault(url, 0);
+            location = locations.get(Math.min(cursor, locations.size() - 1));
+            this.cursors.put(url, cursor + 1);
+        }
+        return new String(FetchArchive.decompress(this.read(location[0], (int) location[1])), StandardCharsets.UTF_8);
+    }
+
+    public synchronized void rewind(){
+        this.cursors.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(!this.channel.isOpen()) return;
+
+        this.channel.force(true);
+        this.channel.close();
+    }
+
+    private int readInt(long position) throws IOException {
+        return ByteBuffer.wrap(this.read(position, 4)).getInt();
+    }
+
+    private byte[] read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while(buffer.hasRemaining()){
+            int read = this.channel.read(buffer, position + buffer.position());
+            if(read < 0) throw new IOException("Unexpected end of archive: " + this.path);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try(GZIPOutputStream stream = new GZIPOutputStream(output)){
+            stream.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length * 4);
+        try(InputStream stream = new GZIPInputStream(new ByteArrayInputStream(bytes))){
+            byte[] buffer = new byte[8 * 1024];
+
+            int read;
+            while((read = stream.read(buffer)) >= 0){
+                output.write(buffer, 0, read);
+            }
+        }
+        return output.toByteArray();
+    }
+}
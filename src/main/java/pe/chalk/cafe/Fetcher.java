@@ -0,0 +1,81 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import pe.chalk.takoyaki.Takoyaki;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Source of the raw HTML of cafe pages.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public interface Fetcher {
+    String fetch(String url) throws IOException;
+
+    /**
+     * @return the page parsed by Jsoup; fetchers that get a parsed document anyway hand it over as is
+     */
+    default Document fetchDocument(String url) throws IOException {
+        String html = this.fetch(url);
+
+        long start = System.nanoTime();
+        try{
+            return Jsoup.parse(html, url);
+        }finally{
+            Metrics.histogram("parse").recordSince(start);
+        }
+    }
+
+    /**
+     * @return whether {@link #fetch(String)} hands back the body as it was served, rather than a parsed document serialized back to HTML
+     */
+    default boolean isRaw(){
+        return true;
+    }
+
+    /**
+     * @param properties the {@code fetcher} block of AllocationInspector.json, or {@code null} to use the staff session of the first target.
+     *                   A staff fetcher uses the staff session of the target whose club id is {@code target}, if given.
+     */
+    static Fetcher of(JSONObject properties){
+        String type = properties == null ? "staff" : properties.optString("type", "staff");
+        try{
+            Fetcher fetcher;
+            switch(type){
+                case "staff":
+                    fetcher = new StaffFetcher(properties != null && properties.has("target") ? Takoyaki.getInstance().getTarget(properties.getInt("target")) : Takoyaki.getInstance().getTargets().get(0));
+                    break;
+
+                case "http":
+                    fetcher = new HttpFetcher(properties);
+                    break;
+
+                case "replay":
+                    return new ReplayFetcher(FetchArchive.open(Paths.get(properties.getString("archive"))), properties.optLong("latency", 0));
+
+                default:
+                    throw new IllegalArgumentException("Unknown fetcher: " + type);
+            }
+
+            if(properties != null && properties.has("record")){
+                fetcher = new RecordingFetcher(fetcher, FetchArchive.open(Paths.get(properties.getString("record"))));
+            }
+            return fetcher;
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One of {@link #fetch(String)} and {@link #fetchDocument(String)}, for the wrappers that treat both alike.
+     */
+    interface Call<T> {
+        T fetch(String url) throws IOException;
+    }
+}
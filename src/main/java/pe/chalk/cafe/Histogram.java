@@ -0,0 +1,133 @@
+package pe.chalk.cafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram over nanoseconds with log-linear buckets: four sub-buckets per power of two, so every quantile is within 19% of the recorded value.
+ * Recording is a few atomic increments and never allocates, so it is cheap enough for every request.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Histogram implements HistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << Histogram.SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - Histogram.SUB_BUCKET_BITS + 1) * Histogram.SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(Histogram.BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram(String name){
+        this.name = name;
+    }
+
+    public String getName(){
+        return this.name;
+    }
+
+    public void record(long nanos){
+        if(nanos < 0) nanos = 0;
+
+        this.buckets.incrementAndGet(Histogram.indexOf(nanos));
+        this.count.increment();
+        this.sum.add(nanos);
+
+        long max;
+        do{
+            max = this.max.get();
+        }while(nanos > max && !this.max.compareAndSet(max, nanos));
+    }
+
+    /**
+     * @return the nanoseconds elapsed since {@code start}, after recording them
+     */
+    public long recordSince(long start){
+        long nanos = System.nanoTime() - start;
+        this.record(nanos);
+
+        return nanos;
+    }
+
+    static int indexOf(long value){
+        if(value < Histogram.SUB_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - Histogram.SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> exponent) & (Histogram.SUB_BUCKETS - 1);
+        return (exponent + 1) * Histogram.SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * @return the largest value that falls in the bucket at {@code index}
+     */
+    static long upperBoundOf(int index){
+        if(index < Histogram.SUB_BUCKETS) return index;
+
+        int exponent = index / Histogram.SUB_BUCKETS - 1;
+        long mantissa = Histogram.SUB_BUCKETS + index % Histogram.SUB_BUCKETS;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the {@code quantile}, capped at the exact maximum
+     */
+    public long getQuantile(double quantile){
+        long count = this.count.sum();
+        if(count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for(int i = 0; i < Histogram.BUCKETS; i++){
+            seen += this.buckets.get(i);
+            if(seen >= rank) return Math.min(Histogram.upperBoundOf(i), this.max.get());
+        }
+        return this.max.get();
+    }
+
+    @Override
+    public long getCount(){
+        return this.count.sum();
+    }
+
+    public long getSumNanos(){
+        return this.sum.sum();
+    }
+
+    public long getMaxNanos(){
+        return this.max.get();
+    }
+
+    @Override
+    public double getTotalMillis(){
+        return Histogram.toMillis(this.getSumNanos());
+    }
+
+    @Override
+    public double getP50Millis(){
+        return Histogram.toMillis(this.getQuantile(0.5));
+    }
+
+    @Override
+    public double getP99Millis(){
+        return Histogram.toMillis(this.getQuantile(0.99));
+    }
+
+    @Override
+    public double getMaxMillis(){
+        return Histogram.toMillis(this.getMaxNanos());
+    }
+
+    private static double toMillis(long nanos){
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%s: %d회, p50 %.1fms, p99 %.1fms, 최대 %.1fms, 합계 %.1fs", this.getName(), this.getCount(), this.getP50Millis(), this.getP99Millis(), this.getMaxMillis(), this.getTotalMillis() / 1000);
+    }
+}
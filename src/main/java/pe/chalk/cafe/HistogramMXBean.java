@@ -0,0 +1,15 @@
+package pe.chalk.cafe;
+
+/**
+ * JMX view of a {@link Histogram}, in milliseconds.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public interface HistogramMXBean {
+    long getCount();
+    double getTotalMillis();
+    double getP50Millis();
+    double getP99Millis();
+    double getMaxMillis();
+}
@@ -0,0 +1,464 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only file of the finalized days of one target: the summary statistics of each day and the article count of every assignee, stored column by column.
+ * Assignees are stored once in a dictionary and referred to by index, and the whole file is read into primitive columns on open,
+ * so every query is a scan over a few arrays even for years of days.
+ *
+ * <pre>
+ * file   := MAGIC record*
+ * record := type(byte) length(int) (member | day)
+ * member := index(int) id nickname
+ * day    := epochDay(int) allocatedArticles(int) assignees(int) alive(int) succeeded(int) total(int) average(double) standardDeviation(double) memberIndex(int)* size(short)*
+ * string := length(short) UTF-8 bytes
+ * </pre>
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class HistoryStore implements Closeable {
+    private static final int MAGIC = 0x48535431;
+    private static final byte MEMBER = 'M';
+    private static final byte DAY = 'D';
+
+    private final Path path;
+    private final FileChannel channel;
+    private long size;
+
+    private final List<String> memberIds = new ArrayList<>();
+    private final List<String> nicknames = new ArrayList<>();
+    private final Map<String, Integer> memberIndices = new HashMap<>();
+    private final TreeMap<Long, Day> days = new TreeMap<>();
+
+    public HistoryStore(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = this.channel.size();
+
+        if(this.size < 4){
+            this.channel.truncate(0);
+            this.channel.write(ByteBuffer.allocate(4).putInt(0, HistoryStore.MAGIC), 0);
+            this.size = 4;
+        }
+
+        MappedByteBuffer mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+        if(mapped.getInt(0) != HistoryStore.MAGIC){
+            this.channel.close();
+            throw new IOException("Not a history store: " + path);
+        }
+
+        long position = 4;
+        while(position + 5 <= this.size){
+            int length = mapped.getInt((int) position + 1);
+            if(length < 0 || position + 5 + length > this.size) break;
+
+            ByteBuffer record = mapped.duplicate();
+            record.position((int) position + 5).limit((int) position + 5 + length);
+            if(mapped.get((int) position) == HistoryStore.MEMBER){
+                record.getInt();
+                this.define(HistoryStore.readString(record), HistoryStore.readString(record));
+            }else{
+                Day day = Day.read(record);
+                this.days.put(day.getEpochDay(), day);
+            }
+            position += 5 + length;
+        }
+
+        if(position < this.size){
+            this.channel.truncate(position);
+            this.size = position;
+        }
+    }
+
+    public Path getPath(){
+        return this.path;
+    }
+
+    private int define(String id, String nickname){
+        int index = this.memberIds.size();
+        this.memberIds.add(id);
+        this.nicknames.add(nickname);
+        this.memberIndices.put(id, index);
+
+        return index;
+    }
+
+    public synchronized boolean contains(LocalDate date){
+        return this.days.containsKey(date.toEpochDay());
+    }
+
+    /**
+     * Records the day of the inspection unless it is already recorded.
+     *
+     * @return false if the day was already recorded
+     */
+    public synchronized boolean append(Inspection inspection) throws IOException {
+        if(this.contains(inspection.getDate())) return false;
+
+        final List<Result> results = inspection.getResults();
+        final int[] members = new int[results.size()];
+        final short[] sizes = new short[results.size()];
+        for(int i = 0; i < results.size(); i++){
+            Member writer = results.get(i).getWriter();
+            Integer index = this.memberIndices.get(writer.getId());
+            if(index == null){
+                index = this.define(writer.getId(), writer.getNickname());
+                this.write(HistoryStore.MEMBER, HistoryStore.member(index, writer.getId(), writer.getNickname()));
+            }
+
+            members[i] = index;
+            sizes[i] = (short) Math.min(Short.MAX_VALUE, results.get(i).size());
+        }
+
+        Day day = new Day(inspection.getDate().toEpochDay(), inspection.getInspector().getAllocatedArticles(), inspection.getInspector().getAssignees().size(), members, sizes);
+        this.write(HistoryStore.DAY, day.toBuffer());
+        this.days.put(day.getEpochDay(), day);
+        return true;
+    }
+
+    private static ByteBuffer member(int index, String id, String nickname){
+        byte[] idBytes = HistoryStore.bytes(id);
+        byte[] nicknameBytes = HistoryStore.bytes(nickname);
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + idBytes.length + 2 + nicknameBytes.length);
+        buffer.putInt(index).putShort((short) idBytes.length).put(idBytes).putShort((short) nicknameBytes.length).put(nicknameBytes);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private void write(byte type, ByteBuffer payload) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(5).put(type).putInt(payload.remaining());
+        header.flip();
+
+        long position = this.size;
+        while(header.hasRemaining()){
+            position += this.channel.write(header, position);
+        }
+        while(payload.hasRemaining()){
+            position += this.channel.write(payload, position);
+        }
+        this.size = position;
+    }
+
+    /**
+     * @return the recorded days from {@code first} to {@code last}, oldest first
+     */
+    public synchronized List<Day> getDays(LocalDate first, LocalDate last){
+        return new ArrayList<>(this.days.subMap(first.toEpochDay(), true, last.toEpochDay(), true).values());
+    }
+
+    public synchronized String getNickname(String memberId){
+        Integer index = this.memberIndices.get(memberId);
+        return index == null ? null : this.nicknames.get(index);
+    }
+
+    /**
+     * A run of consecutive recorded days on which an assignee missed the quota.
+     * A day on which the member was not an assignee, or which is not recorded, ends the run.
+     *
+     * @return the runs of at least {@code minimumLength} days from {@code first} to {@code last}, longest first
+     */
+    public synchronized List<Streak> getMissStreaks(LocalDate first, LocalDate last, int minimumLength){
+        final int members = this.memberIds.size();
+        final long[] starts = new long[members];
+        final int[] lengths = new int[members];
+        final List<Streak> streaks = new ArrayList<>();
+
+        long previous = Long.MIN_VALUE;
+        for(Day day : this.days.subMap(first.toEpochDay(), true, last.toEpochDay(), true).values()){
+            final boolean[] missed = new boolean[members];
+            for(int i = 0; i < day.members.length; i++){
+                missed[day.members[i]] = day.sizes[i] < day.getAllocatedArticles();
+            }
+
+            for(int member = 0; member < members; member++){
+                boolean continued = lengths[member] > 0 && day.getEpochDay() == previous + 1;
+                if(missed[member]){
+                    if(!continued){
+                        this.endStreak(streaks, member, starts[member], lengths[member], minimumLength);
+                        starts[member] = day.getEpochDay();
+                        lengths[member] = 0;
+                    }
+                    lengths[member]++;
+                }else{
+                    this.endStreak(streaks, member, starts[member], lengths[member], minimumLength);
+                    lengths[member] = 0;
+                }
+            }
+            previous = day.getEpochDay();
+        }
+
+        for(int member = 0; member < members; member++){
+            this.endStreak(streaks, member, starts[member], lengths[member], minimumLength);
+        }
+
+        streaks.sort((a, b) -> b.getLength() != a.getLength() ? b.getLength() - a.getLength() : a.getStart().compareTo(b.getStart()));
+        return streaks;
+    }
+
+    private void endStreak(List<Streak> streaks, int member, long start, int length, int minimumLength){
+        if(length > 0 && length >= minimumLength){
+            streaks.add(new Streak(this.memberIds.get(member), LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(start + length - 1), length));
+        }
+    }
+
+    /**
+     * @return the share of the recorded days from {@code first} to {@code last} on which each assignee met the quota, keyed by member id
+     */
+    public synchronized Map<String, Double> getCompletionRates(LocalDate first, LocalDate last){
+        final int[] assigned = new int[this.memberIds.size()];
+        final int[] succeeded = new int[this.memberIds.size()];
+
+        for(Day day : this.days.subMap(first.toEpochDay(), true, last.toEpochDay(), true).values()){
+            for(int i = 0; i < day.members.length; i++){
+                assigned[day.members[i]]++;
+                if(day.sizes[i] >= day.getAllocatedArticles()) succeeded[day.members[i]]++;
+            }
+        }
+
+        final Map<String, Double> rates = new LinkedHashMap<>();
+        for(int member = 0; member < assigned.length; member++){
+            if(assigned[member] > 0) rates.put(this.memberIds.get(member), succeeded[member] * 1.0 / assigned[member]);
+        }
+        return rates;
+    }
+
+    /**
+     * @return the article count of the assignee on each recorded day from {@code first} to {@code last} on which the member was an assignee
+     */
+    public synchronized Map<LocalDate, Integer> getSizes(String memberId, LocalDate first, LocalDate last){
+        final Map<LocalDate, Integer> sizes = new LinkedHashMap<>();
+
+        Integer member = this.memberIndices.get(memberId);
+        if(member == null) return sizes;
+
+        for(Day day : this.days.subMap(first.toEpochDay(), true, last.toEpochDay(), true).values()){
+            int size = day.getSize(member);
+            if(size >= 0) sizes.put(LocalDate.ofEpochDay(day.getEpochDay()), size);
+        }
+        return sizes;
+    }
+
+    /**
+     * @return the least-squares slope of the article count of the assignee, in articles per day, or 0 with fewer than two days
+     */
+    public synchronized double getTrend(String memberId, LocalDate first, LocalDate last){
+        final Map<LocalDate, Integer> sizes = this.getSizes(memberId, first, last);
+        if(sizes.size() < 2) return 0;
+
+        double n = sizes.size(), sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for(Map.Entry<LocalDate, Integer> entry : sizes.entrySet()){
+            double x = entry.getKey().toEpochDay() - first.toEpochDay();
+            double y = entry.getValue();
+
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(!this.channel.isOpen()) return;
+
+        this.channel.force(true);
+        this.channel.close();
+    }
+
+    private static byte[] bytes(String string){
+        if(string == null) return new byte[0];
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > Short.MAX_VALUE) throw new IllegalArgumentException("String too long: " + bytes.length + " bytes");
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One finalized day: the summary statistics as printed by {@link AllocationInspector#summarize(List, double)}, and the article count of each assignee.
+     */
+    public static class Day {
+        private final long epochDay;
+        private final int allocatedArticles;
+        private final int assignees, alive, succeeded, total;
+        private final double average, standardDeviation;
+
+        private final int[] members;
+        private final short[] sizes;
+
+        private Day(long epochDay, int allocatedArticles, int assignees, int alive, int succeeded, int total, double average, double standardDeviation, int[] members, short[] sizes){
+            this.epochDay = epochDay;
+            this.allocatedArticles = allocatedArticles;
+            this.assignees = assignees;
+            this.alive = alive;
+            this.succeeded = succeeded;
+            this.total = total;
+            this.average = average;
+            this.standardDeviation = standardDeviation;
+            this.members = members;
+            this.sizes = sizes;
+        }
+
+        private Day(long epochDay, int allocatedArticles, int assignees, int[] members, short[] sizes){
+            int alive = 0, succeeded = 0, total = 0;
+            for(short size : sizes){
+                if(size > 0) alive++;
+                if(size >= allocatedArticles) succeeded++;
+                total += size;
+            }
+
+            double average = assignees == 0 ? 0 : total * 1.0 / assignees;
+            double squares = 0;
+            for(short size : sizes){
+                squares += Math.pow(size - average, 2);
+            }
+
+            this.epochDay = epochDay;
+            this.allocatedArticles = allocatedArticles;
+            this.assignees = assignees;
+            this.alive = alive;
+            this.succeeded = succeeded;
+            this.total = total;
+            this.average = average;
+            this.standardDeviation = assignees == 0 ? 0 : Math.sqrt(squares / assignees);
+            this.members = members;
+            this.sizes = sizes;
+        }
+
+        private static Day read(ByteBuffer buffer){
+            long epochDay = buffer.getInt();
+            int allocatedArticles = buffer.getInt(), assignees = buffer.getInt(), alive = buffer.getInt(), succeeded = buffer.getInt(), total = buffer.getInt();
+            double average = buffer.getDouble(), standardDeviation = buffer.getDouble();
+
+            int[] members = new int[buffer.remaining() / 6];
+            short[] sizes = new short[members.length];
+            buffer.asIntBuffer().get(members);
+            buffer.position(buffer.position() + members.length * 4);
+            buffer.asShortBuffer().get(sizes);
+
+            return new Day(epochDay, allocatedArticles, assignees, alive, succeeded, total, average, standardDeviation, members, sizes);
+        }
+
+        private ByteBuffer toBuffer(){
+            ByteBuffer buffer = ByteBuffer.allocate(6 * 4 + 2 * 8 + this.members.length * 6);
+            buffer.putInt((int) this.epochDay).putInt(this.allocatedArticles).putInt(this.assignees).putInt(this.alive).putInt(this.succeeded).putInt(this.total);
+            buffer.putDouble(this.average).putDouble(this.standardDeviation);
+            buffer.asIntBuffer().put(this.members);
+            buffer.position(buffer.position() + this.members.length * 4);
+            buffer.asShortBuffer().put(this.sizes);
+            buffer.position(buffer.capacity());
+            buffer.flip();
+
+            return buffer;
+        }
+
+        public long getEpochDay(){
+            return this.epochDay;
+        }
+
+        public LocalDate getDate(){
+            return LocalDate.ofEpochDay(this.epochDay);
+        }
+
+        public int getAllocatedArticles(){
+            return this.allocatedArticles;
+        }
+
+        public int getAssignees(){
+            return this.assignees;
+        }
+
+        public int getAlive(){
+            return this.alive;
+        }
+
+        public int getSucceeded(){
+            return this.succeeded;
+        }
+
+        public int getTotal(){
+            return this.total;
+        }
+
+        public double getAverage(){
+            return this.average;
+        }
+
+        public double getStandardDeviation(){
+            return this.standardDeviation;
+        }
+
+        /**
+         * @return the article count of the member at {@code memberIndex}, or -1 if the member was not an assignee on the day
+         */
+        private int getSize(int memberIndex){
+            for(int i = 0; i < this.members.length; i++){
+                if(this.members[i] == memberIndex) return this.sizes[i];
+            }
+            return -1;
+        }
+    }
+
+    public static class Streak {
+        private final String memberId;
+        private final LocalDate start, end;
+        private final int length;
+
+        private Streak(String memberId, LocalDate start, LocalDate end, int length){
+            this.memberId = memberId;
+            this.start = start;
+            this.end = end;
+            this.length = length;
+        }
+
+        public String getMemberId(){
+            return this.memberId;
+        }
+
+        public LocalDate getStart(){
+            return this.start;
+        }
+
+        public LocalDate getEnd(){
+            return this.end;
+        }
+
+        public int getLength(){
+            return this.length;
+        }
+
+        @Override
+        public String toString(){
+            return this.memberId + ": " + this.start + " ~ " + this.end + " (" + this.length + "일)";
+        }
+    }
+}
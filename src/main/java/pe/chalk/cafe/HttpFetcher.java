@@ -0,0 +1,207 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Fetches over HTTP/1.1 keep-alive connections with compressed responses and conditional GETs.
+ * The JDK keeps idle connections per host in its own pool, shared by the whole process: it holds 5 of them unless the JVM is started with
+ * {@code -Dhttp.maxConnections=<n>}, which must be given on the command line because the pool reads it once, on the first connection.
+ * Responses carrying an ETag or Last-Modified header are kept, so that an unchanged page comes back as a 304 and is served from the kept copy.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class HttpFetcher implements Fetcher {
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset=\"?([^\\s;\"]+)", Pattern.CASE_INSENSITIVE);
+
+    private final String cookie;
+    private final String userAgent;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final Charset defaultCharset;
+    private final Cache<String, Response> responses;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesTransferred = new AtomicLong();
+    private final AtomicLong nanosSpent = new AtomicLong();
+
+    public HttpFetcher(JSONObject properties){
+        this.cookie = properties.optString("cookie", null);
+        this.userAgent = properties.optString("userAgent", "Mozilla/5.0 (compatible; AllocationInspector)");
+        this.connectTimeout = properties.optInt("connectTimeout", 5000);
+        this.readTimeout = properties.optInt("readTimeout", 15000);
+        this.defaultCharset = Charset.forName(properties.optString("charset", StandardCharsets.UTF_8.name()));
+        this.responses = new Cache<>("조건부 요청", properties.optInt("conditionalCache", 10000), Cache.FOREVER, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String fetch(String url) throws IOException {
+        final long startTime = System.nanoTime();
+        this.requests.incrementAndGet();
+
+        final Response cached = this.responses.get(url);
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try{
+            connection.setConnectTimeout(this.connectTimeout);
+            connection.setReadTimeout(this.readTimeout);
+            connection.setInstanceFollowRedirects(true);
+            connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+            connection.setRequestProperty("User-Agent", this.userAgent);
+            if(this.cookie != null) connection.setRequestProperty("Cookie", this.cookie);
+
+            if(cached != null){
+                if(cached.etag != null) connection.setRequestProperty("If-None-Match", cached.etag);
+                if(cached.lastModified != null) connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+
+            final int status = connection.getResponseCode();
+            if(status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null){
+                this.notModified.incrementAndGet();
+                HttpFetcher.drain(connection.getErrorStream());
+                return cached.body;
+            }
+            if(status != HttpURLConnection.HTTP_OK){
+                HttpFetcher.drain(connection.getErrorStream());
+                throw new IOException("HTTP " + status + ": " + url);
+            }
+
+            final String body;
+            try(InputStream stream = this.decode(connection)){
+                body = new String(HttpFetcher.readAll(stream), this.getCharset(connection.getContentType()));
+            }
+
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+            if(etag != null || lastModified != null){
+                this.responses.put(url, new Response(body, etag, lastModified));
+            }
+
+            return body;
+        }finally{
+            this.nanosSpent.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    private InputStream decode(HttpURLConnection connection) throws IOException {
+        InputStream stream = new FilterInputStream(connection.getInputStream()){
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if(b >= 0) HttpFetcher.this.bytesTransferred.incrementAndGet();
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if(read > 0) HttpFetcher.this.bytesTransferred.addAndGet(read);
+                return read;
+            }
+        };
+
+        String encoding = connection.getContentEncoding();
+        if(encoding == null) return stream;
+
+        switch(encoding.trim().toLowerCase()){
+            case "gzip":
+                return new GZIPInputStream(stream);
+
+            case "deflate":
+                return new InflaterInputStream(stream);
+
+            default:
+                return stream;
+        }
+    }
+
+    private Charset getCharset(String contentType){
+        if(contentType != null){
+            Matcher matcher = HttpFetcher.CHARSET_PATTERN.matcher(contentType);
+            if(matcher.find()){
+                try{
+                    return Charset.forName(matcher.group(1));
+                }catch(IllegalArgumentException ignored){
+                    // falls back to the configured charset
+                }
+            }
+        }
+        return this.defaultCharset;
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(16 * 1024);
+        byte[] buffer = new byte[8 * 1024];
+
+        int read;
+        while((read = stream.read(buffer)) >= 0){
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads an error body to the end so that the connection can go back to the keep-alive pool.
+     */
+    private static void drain(InputStream stream){
+        if(stream == null) return;
+
+        try(InputStream input = stream){
+            byte[] buffer = new byte[4 * 1024];
+            //noinspection StatementWithEmptyBody
+            while(input.read(buffer) >= 0);
+        }catch(IOException ignored){
+            // the connection is simply not reused
+        }
+    }
+
+    public long getRequests(){
+        return this.requests.get();
+    }
+
+    public long getNotModified(){
+        return this.notModified.get();
+    }
+
+    public long getBytesTransferred(){
+        return this.bytesTransferred.get();
+    }
+
+    public long getNanosSpent(){
+        return this.nanosSpent.get();
+    }
+
+    @Override
+    public String toString(){
+        long requests = this.getRequests();
+        return String.format("HttpFetcher: 요청 %d, 304 %d, 전송 %.1fKB, 평균 %.1fms",
+                requests, this.getNotModified(), this.getBytesTransferred() / 1024.0, requests == 0 ? 0 : this.getNanosSpent() / 1e6 / requests);
+    }
+
+    private static class Response {
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+
+        private Response(String body, String etag, String lastModified){
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package pe.chalk.cafe;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of inspecting one day of one target: the ranked results and the rendered message.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Inspection {
+    private final AllocationInspector inspector;
+    private final LocalDate date;
+    private final List<Result> results;
+    private final String message;
+
+    public Inspection(AllocationInspector inspector, LocalDate date, List<Result> results, String message){
+        this.inspector = inspector;
+        this.date = date;
+        this.results = Collections.unmodifiableList(results);
+        this.message = message;
+    }
+
+    public AllocationInspector getInspector(){
+        return this.inspector;
+    }
+
+    public LocalDate getDate(){
+        return this.date;
+    }
+
+    public ZonedDateTime getStart(){
+        return AllocationInspector.getDayStart(this.getDate());
+    }
+
+    public ZonedDateTime getEnd(){
+        return AllocationInspector.getDayStart(this.getDate().plusDays(1));
+    }
+
+    public List<Result> getResults(){
+        return this.results;
+    }
+
+    public String getMessage(){
+        return this.message;
+    }
+
+    /**
+     * @return whether any result is incomplete, in which case the day must not be finalized
+     */
+    public boolean isIncomplete(){
+        return this.getResults().stream().anyMatch(Result::isIncomplete);
+    }
+
+    /**
+     * @return a hash of everything the rendered results show: the target, the date, and the count, allocation, major upload time, completeness and writer of each result in rank order
+     */
+    public long getFingerprint(){
+        long fingerprint = this.getInspector().getClubId() * 31L + this.getDate().toEpochDay();
+        for(Result result : this.getResults()){
+            fingerprint = fingerprint * 1_000_003L + result.getWriter().getId().hashCode();
+            fingerprint = fingerprint * 1_000_003L + result.size();
+            fingerprint = fingerprint * 1_000_003L + result.getAllocatedArticles();
+            fingerprint = fingerprint * 1_000_003L + result.getMajorArticleUploadTime().orElse("").hashCode();
+            fingerprint = fingerprint * 1_000_003L + (result.isIncomplete() ? 1 : 0);
+        }
+        return fingerprint;
+    }
+
+    @Override
+    public String toString(){
+        return this.getMessage();
+    }
+}
@@ -0,0 +1,63 @@
+package pe.chalk.cafe;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts the fields with CSS selectors over a full Jsoup {@link Document}.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class JsoupPageExtractor implements PageExtractor {
+    @Override
+    public List<ArticleRow> extractRows(String html){
+        return this.extractRows(Jsoup.parse(html));
+    }
+
+    @Override
+    public boolean prefersDocument(){
+        return true;
+    }
+
+    @Override
+    public List<ArticleRow> extractRows(Document document){
+        return document.select("tr[align=center]:not([class])").stream().map(JsoupPageExtractor::toRow).collect(Collectors.toList());
+    }
+
+    public static ArticleRow toRow(Element element){
+        int id = Integer.parseInt(element.select("span.m-tcol-c.list-count").first().text());
+        String title = element.select("td.board-list > span a.m-tcol-c").first().text();
+        String uploadDate = element.select("td.view-count.m-tcol-c").first().text();
+
+        Elements commentElements = element.select("td.board-list > a.m-tcol-p > span.m-tcol-p.num > strong");
+        int commentCount = commentElements.isEmpty() ? 0 : Integer.parseInt(commentElements.first().text());
+
+        Element writerElement = element.select("td.p-nick a").first();
+        Matcher writerIdMatcher = writerElement == null ? null : MemberArticle.WRITER_ID_PATTERN.matcher(writerElement.attr("onclick"));
+        String writerId = writerIdMatcher != null && writerIdMatcher.find() ? writerIdMatcher.group(1) : null;
+
+        return new ArticleRow(id, title, commentCount, uploadDate, writerId);
+    }
+
+    @Override
+    public ArticleDetail extractDetail(String html){
+        return this.extractDetail(Jsoup.parse(html));
+    }
+
+    @Override
+    public ArticleDetail extractDetail(Document document){
+        Element menuElement = document.select("div.tit-box div.fl a.m-tcol-c").first();
+        Element dateElement = document.select("div.tit-box div.fr td.m-tcol-c.date").first();
+        if(menuElement == null || dateElement == null) return null;
+
+        Matcher menuIdMatcher = MemberArticle.MENU_ID_PATTERN.matcher(menuElement.attr("href"));
+        return new ArticleDetail(menuIdMatcher.find() ? Integer.parseInt(menuIdMatcher.group(1)) : 0, dateElement.text());
+    }
+}
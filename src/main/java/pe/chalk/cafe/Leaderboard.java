@@ -0,0 +1,278 @@
+package pe.chalk.cafe;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Ranked results of one day of one target, kept up to date one assignee at a time.
+ * The results live in a treap ordered by {@link Result#COMPARATOR} and then by writer, whose nodes know the size of their subtree,
+ * so replacing a result and looking up a rank take O(log n), and the figures of the summary are running sums.
+ * Rendered lines are kept with their nodes and are only rendered again when the rank or the shown values changed.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Leaderboard {
+    public static final Comparator<Result> ORDER = Result.COMPARATOR
+            .thenComparing((Result result) -> result.getWriter().toString())
+            .thenComparing(result -> result.getWriter().getId());
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+
+    private int alive, succeeded, unknown;
+    private long total, sumOfSquares;
+
+    /**
+     * @return a leaderboard of the results, for callers that build every result at once
+     */
+    public static Leaderboard of(List<Result> results){
+        Leaderboard leaderboard = new Leaderboard();
+        results.forEach(leaderboard::update);
+
+        return leaderboard;
+    }
+
+    /**
+     * Puts the result in place of the previous result of the same writer.
+     *
+     * @return whether the rank or the rendered line of the writer may have changed
+     */
+    public synchronized boolean update(Result result){
+        final Node node = this.nodes.get(result.getWriter().getId());
+        if(node == null){
+            Node created = new Node(result);
+            this.nodes.put(result.getWriter().getId(), created);
+            this.root = Leaderboard.insert(this.root, created);
+            this.add(result, 1);
+
+            return true;
+        }
+
+        final Result previous = node.result;
+        this.add(previous, -1);
+        this.add(result, 1);
+
+        if(Leaderboard.ORDER.compare(previous, result) == 0){
+            node.result = result;
+            return !Leaderboard.isSameLine(previous, result);
+        }
+
+        this.root = Leaderboard.remove(this.root, previous);
+        node.result = result;
+        node.left = node.right = null;
+        node.size = 1;
+        this.root = Leaderboard.insert(this.root, node);
+
+        return true;
+    }
+
+    private void add(Result result, int sign){
+        if(result.isUnknown()){
+            this.unknown += sign;
+            return;
+        }
+
+        if(result.isAlive()) this.alive += sign;
+        if(result.isSucceeded()) this.succeeded += sign;
+        this.total += sign * result.size();
+        this.sumOfSquares += sign * (long) result.size() * result.size();
+    }
+
+    private static boolean isSameLine(Result a, Result b){
+        return a.size() == b.size() && a.getAllocatedArticles() == b.getAllocatedArticles() && a.isIncomplete() == b.isIncomplete()
+                && Objects.equals(a.getMajorArticle().map(article -> article.getUploadTime(false)).orElse(null), b.getMajorArticle().map(article -> article.getUploadTime(false)).orElse(null));
+    }
+
+    public synchronized int size(){
+        return this.nodes.size();
+    }
+
+    /**
+     * @return the zero-based rank of the writer, shared by every result that {@link Result#COMPARATOR} ties with, or -1 if the writer has no result
+     */
+    public synchronized int getRank(String writerId){
+        Node node = this.nodes.get(writerId);
+        return node == null ? -1 : Leaderboard.countBefore(this.root, node.result);
+    }
+
+    /**
+     * @return the number of results that {@link Result#COMPARATOR} puts before {@code result}
+     */
+    private static int countBefore(Node node, Result result){
+        int count = 0;
+        while(node != null){
+            if(Result.COMPARATOR.compare(node.result, result) < 0){
+                count += Node.size(node.left) + 1;
+                node = node.right;
+            }else{
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return every result in rank order, ties ordered by writer
+     */
+    public synchronized List<Result> getResults(){
+        final List<Result> results = new ArrayList<>(this.nodes.size());
+        this.forEach(this.root, node -> results.add(node.result));
+
+        return results;
+    }
+
+    /**
+     * @return one line per result in rank order, as {@code #01 } followed by {@link Result#toString(String)}
+     */
+    public synchronized List<String> render(){
+        final List<String> lines = new ArrayList<>(this.nodes.size());
+        final int[] position = {0, 0};
+        final Result[] previous = {null};
+
+        this.forEach(this.root, node -> {
+            if(previous[0] == null || Result.COMPARATOR.compare(previous[0], node.result) != 0) position[1] = position[0];
+            previous[0] = node.result;
+            position[0]++;
+
+            if(node.line == null || node.lineRank != position[1] || node.lineResult != node.result && !Leaderboard.isSameLine(node.lineResult, node.result)){
+                node.line = node.result.toString(String.format("#%02d ", position[1] + 1));
+                node.lineRank = position[1];
+            }
+            node.lineResult = node.result;
+            lines.add(node.line);
+        });
+        return lines;
+    }
+
+    private void forEach(Node node, Consumer<Node> action){
+        final Deque<Node> stack = new ArrayDeque<>();
+        while(node != null || !stack.isEmpty()){
+            while(node != null){
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            action.accept(node);
+            node = node.right;
+        }
+    }
+
+    /**
+     * @return the number of results that are not {@link Result#isUnknown() unknown}
+     */
+    public synchronized int getKnown(){
+        return this.nodes.size() - this.unknown;
+    }
+
+    public synchronized int getAlive(){
+        return this.alive;
+    }
+
+    public synchronized int getSucceeded(){
+        return this.succeeded;
+    }
+
+    public synchronized int getUnknown(){
+        return this.unknown;
+    }
+
+    /**
+     * @return the number of articles of the results that are not unknown
+     */
+    public synchronized long getTotal(){
+        return this.total;
+    }
+
+    /**
+     * @return the sum of the squared article counts of the results that are not unknown
+     */
+    public synchronized long getSumOfSquares(){
+        return this.sumOfSquares;
+    }
+
+    private static Node insert(Node root, Node node){
+        Node[] split = Leaderboard.split(root, node.result);
+        return Leaderboard.merge(Leaderboard.merge(split[0], node), split[1]);
+    }
+
+    private static Node remove(Node root, Result result){
+        if(root == null) return null;
+
+        int comparison = Leaderboard.ORDER.compare(result, root.result);
+        if(comparison == 0) return Leaderboard.merge(root.left, root.right);
+
+        if(comparison < 0) root.left = Leaderboard.remove(root.left, result);
+        else root.right = Leaderboard.remove(root.right, result);
+        return root.update();
+    }
+
+    /**
+     * @return the nodes before {@code result} and the nodes after it
+     */
+    private static Node[] split(Node node, Result result){
+        if(node == null) return new Node[2];
+
+        if(Leaderboard.ORDER.compare(node.result, result) < 0){
+            Node[] split = Leaderboard.split(node.right, result);
+            node.right = split[0];
+            split[0] = node.update();
+            return split;
+        }else{
+            Node[] split = Leaderboard.split(node.left, result);
+            node.left = split[1];
+            split[1] = node.update();
+            return split;
+        }
+    }
+
+    private static Node merge(Node left, Node right){
+        if(left == null) return right;
+        if(right == null) return left;
+
+        if(left.priority > right.priority){
+            left.right = Leaderboard.merge(left.right, right);
+            return left.update();
+        }else{
+            right.left = Leaderboard.merge(left, right.left);
+            return right.update();
+        }
+    }
+
+    @Override
+    public synchronized String toString(){
+        return "Leaderboard(" + this.nodes.size() + " results, " + this.unknown + " unknown)";
+    }
+
+    private static class Node {
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Result result;
+        private Node left, right;
+        private int size = 1;
+
+        private String line;
+        private int lineRank;
+        private Result lineResult;
+
+        private Node(Result result){
+            this.result = result;
+        }
+
+        private static int size(Node node){
+            return node == null ? 0 : node.size;
+        }
+
+        private Node update(){
+            this.size = 1 + Node.size(this.left) + Node.size(this.right);
+            return this;
+        }
+    }
+}
@@ -1,22 +1,25 @@
 package pe.chalk.cafe;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.nodes.Document;
 import pe.chalk.takoyaki.Takoyaki;
 import pe.chalk.takoyaki.Target;
-import pe.chalk.takoyaki.utils.TextFormat;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Calendar;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -31,13 +34,27 @@ public class Main {
 
     public static boolean DELAY = true;
 
-    public static String html;
-    public static Path htmlOutput;
+    public static SessionPool sessions;
+    public static ExecutorService targets;
+    public static List<ShardClient> shards;
+    public static ArticleStore articleStore;
+    public static PageExtractor extractor = new JsoupPageExtractor();
+    public static StatusServer statusServer;
+    public static final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    public static EventBus events;
+
+    public static ReportWriter report;
+    public static Checkpoint checkpoint;
 
     public static int days, midnightHour;
+    public static boolean incremental;
 
+    /**
+     * @param args empty to inspect, or {@code --worker <port>} to crawl shards for a coordinator on the loopback port
+     */
     public static void main(String[] args) throws IOException, InterruptedException {
         Main.takoyaki = new Takoyaki();
+        final int workerPort = args.length >= 2 && args[0].equals("--worker") ? Integer.parseInt(args[1]) : 0;
 
         Path propertiesPath = Paths.get("AllocationInspector.json");
         if(Files.notExists(propertiesPath)){
@@ -48,68 +65,189 @@ public class Main {
         JSONObject properties = new JSONObject(new String(Files.readAllBytes(propertiesPath), StandardCharsets.UTF_8));
         Main.days = properties.getInt("days");
         Main.midnightHour = properties.getInt("midnightHour");
+        Main.incremental = properties.optBoolean("incremental", false);
+        Main.extractor = PageExtractor.of(properties.optString("extractor", "jsoup"));
+        // a worker may have sessions of its own, so that every process adds to the rate budget
+        JSONObject shard = workerPort > 0 ? Main.findShard(properties, workerPort) : null;
+        Main.sessions = SessionPool.of(shard != null && shard.has("sessions") ? shard : properties, properties.optJSONObject("resilience"));
+        if(Main.extractor instanceof StreamingPageExtractor && !Main.sessions.isRaw()){
+            // the staff session parses every page anyway, so scanning it again after serializing it back only adds work
+            Takoyaki.getInstance().getLogger().error("streaming 추출기는 원본 HTML을 받는 http, replay fetcher에서만 쓸 수 있습니다. jsoup 추출기를 사용합니다");
+            Main.extractor = new JsoupPageExtractor();
+        }
+
+        JSONObject cache = properties.optJSONObject("cache");
+        if(cache != null){
+            AllocationInspector.cache.configure(cache.optInt("listPages", 10000), cache.optLong("listPageTtl", 600), TimeUnit.SECONDS);
+            AllocationInspector.boardCache.configure(cache.optInt("listPages", 10000), cache.optLong("listPageTtl", 600), TimeUnit.SECONDS);
+            MemberArticle.cache.configure(cache.optInt("articles", 100000), cache.optLong("articleTtl", 10800), TimeUnit.SECONDS);
+        }
+
+        Metrics.gauge(AllocationInspector.cache, "list_pages");
+        Metrics.gauge(AllocationInspector.boardCache, "board_pages");
+        Metrics.gauge(MemberArticle.cache, "articles");
+
+        Main.events = new EventBus(properties.optInt("eventQueue", 1000));
+
+        int httpPort = properties.optInt("httpPort", 0);
+        if(httpPort > 0 && workerPort == 0){
+            Main.statusServer = new StatusServer(httpPort, properties.optInt("httpThreads", 4));
+            Main.statusServer.start();
+            Takoyaki.getInstance().getLogger().info("상태 서버를 시작했습니다: http://localhost:" + Main.statusServer.getPort() + "/metrics, " + Snapshot.PREFIX + ", /events");
+        }
+
+        String articleStore = properties.optString("articleStore", "AllocationInspector.articles");
+        Main.articleStore = new ArticleStore(Paths.get(workerPort > 0 ? articleStore + "." + workerPort : articleStore));
+        Takoyaki.getInstance().getLogger().info("저장된 게시글을 불러왔습니다: " + Main.articleStore.size() + "개 (" + Main.articleStore.getPath() + ")");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try{
+                Main.articleStore.close();
+            }catch(IOException e){
+                e.printStackTrace();
+            }
+        }));
+
+        Main.inspectors = Takoyaki.<JSONObject>buildStream(properties.getJSONArray("targets")).map(AllocationInspector::new).collect(Collectors.toList());
+        if(workerPort > 0){
+            new ShardWorker(workerPort).run();
+            return;
+        }
+
+        JSONArray shards = properties.optJSONArray("shards");
+        if(shards != null){
+            Main.shards = Takoyaki.<JSONObject>buildStream(shards).map(ShardClient::of).collect(Collectors.toList());
+            Takoyaki.getInstance().getLogger().info("작업자 " + Main.shards.size() + "개에 대상자를 나눕니다: " + Main.shards);
+        }
 
         try{
-            Main.html = new String(Files.readAllBytes(Paths.get(properties.getString("htmlInput"))), StandardCharsets.UTF_8);
-            Main.htmlOutput = Paths.get(properties.getString("htmlOutput"));
+            String template = new String(Files.readAllBytes(Paths.get(properties.getString("htmlInput"))), StandardCharsets.UTF_8);
+            Main.report = new ReportWriter(Paths.get(properties.getString("htmlOutput")), template);
         }catch(IOException e){
             e.printStackTrace();
         }
 
-        Main.inspectors = Takoyaki.<JSONObject>buildStream(properties.getJSONArray("targets")).map(AllocationInspector::new).collect(Collectors.toList());
+        Main.targets = Executors.newFixedThreadPool(Main.inspectors.size());
+        Takoyaki.getInstance().getLogger().info("세션 " + Main.sessions.getSessions().size() + "개로 요청을 나눕니다: 동시 요청 " + Main.sessions.getMaxInFlight() + "개");
         Main.inspectors.forEach(inspector -> {
             Target target = Takoyaki.getInstance().getTarget(inspector.getClubId());
             Takoyaki.getInstance().getLogger().info("게시글을 검사합니다: 대상자 " + inspector.getAssignees().size() + "명: " + target.getName() + " (ID: " + target.getClubId() + ")");
         });
 
-        new Thread(() -> {
+        Path historyDirectory = Paths.get(properties.optString("historyDirectory", "history"));
+        Files.createDirectories(historyDirectory);
+        for(AllocationInspector inspector : Main.inspectors){
+            inspector.setHistoryStore(new HistoryStore(historyDirectory.resolve(inspector.getClubId() + ".history")));
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> Main.inspectors.forEach(inspector -> {
             try{
-                Thread.sleep(TimeUnit.HOURS.toMillis(3));
-
-                MemberArticle.cache.clear();
-                Takoyaki.getInstance().getLogger().notice("CACHE CLEARED!");
-            }catch(InterruptedException e){
+                inspector.getHistoryStore().close();
+            }catch(IOException e){
                 e.printStackTrace();
             }
-        }).start();
+        })));
 
-        //noinspection InfiniteLoopStatement
-        while(true){
+        String checkpointPath = properties.optString("checkpoint", null);
+        if(checkpointPath != null){
+            Main.checkpoint = new Checkpoint(Paths.get(checkpointPath), Duration.ofSeconds(properties.optLong("checkpointInterval", 600)));
             try{
-                final Calendar calendar = Calendar.getInstance(Locale.KOREA);
-                calendar.add(Calendar.DATE, 1 - Main.days);
-
-                Main.inspect(IntStream.range(0, Main.days).mapToObj(i -> {
-                    Date date = calendar.getTime();
-                    calendar.add(Calendar.DATE, 1);
-
-                    return date;
-                }));
-            }catch(Exception e){
+                List<Inspection> restored = Main.checkpoint.load(LocalDate.now(AllocationInspector.ZONE).minusDays(Main.days - 1));
+                if(!restored.isEmpty()) Main.publish(restored);
+            }catch(IOException e){
                 e.printStackTrace();
             }
+            Runtime.getRuntime().addShutdownHook(new Thread(Main.checkpoint::save));
         }
+
+        new Scheduler(properties.optJSONObject("schedule")).run();
+    }
+
+    /**
+     * @return the entry of {@code shards} for the worker on the port, or null if there is none
+     */
+    private static JSONObject findShard(JSONObject properties, int port){
+        JSONArray shards = properties.optJSONArray("shards");
+        if(shards == null) return null;
+
+        return Takoyaki.<JSONObject>buildStream(shards).filter(shard -> shard.optInt("port") == port).findFirst().orElse(null);
     }
 
     public static Document parse(String url) throws IOException {
-        return Main.takoyaki.getTargets().get(0).getStaff().parse(url);
+        return Main.sessions.fetchDocument(url);
     }
 
-    public static void inspect(Stream<Date> dates) throws InterruptedException {
-        List<String> messages = dates.flatMap(date -> Main.inspectors.stream().map(inspector -> inspector.inspect(date))).collect(Collectors.toList());
-        Collections.reverse(messages);
+    /**
+     * @return the HTML of the page, for the {@link PageExtractor}
+     */
+    public static String fetch(String url) throws IOException {
+        return Main.sessions.fetch(url);
+    }
 
-        String result = String.join(String.format("%n%n"), messages);
-        AllocationInspector.cache.clear();
+    /**
+     * @return the inspections of every target and day, in report order
+     */
+    public static List<Inspection> inspect(Stream<LocalDate> dates){
+        final long start = System.nanoTime();
+        final List<LocalDate> days = dates.collect(Collectors.toList());
+        final List<CompletableFuture<List<Inspection>>> futures = Main.inspectors.stream().map(inspector -> CompletableFuture.supplyAsync(() -> inspector.inspect(days), Main.targets)).collect(Collectors.toList());
+        final List<List<Inspection>> inspections = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        List<Inspection> ordered = IntStream.range(0, days.size()).boxed().flatMap(i -> inspections.stream().map(list -> list.get(i))).collect(Collectors.toList());
+        Collections.reverse(ordered);
 
+        String result = ordered.stream().map(Inspection::getMessage).collect(Collectors.joining(String.format("%n%n")));
         Takoyaki.getInstance().getLogger().info(result);
-        Main.html(result);
+        Takoyaki.getInstance().getLogger().info("CACHE: " + AllocationInspector.cache);
+        Takoyaki.getInstance().getLogger().info("CACHE: " + AllocationInspector.boardCache);
+        Takoyaki.getInstance().getLogger().info("CACHE: " + MemberArticle.cache);
+
+        // the poll interval is shorter than listPageTtl, which only bounds the reuse of a page within a long pass, so the next pass must fetch the list pages again
+        AllocationInspector.cache.clear();
+        AllocationInspector.boardCache.clear();
+        Takoyaki.getInstance().getLogger().info("FETCH: " + Main.sessions);
+        Main.publish(ordered);
+
+        Metrics.histogram("pass").recordSince(start);
+        Takoyaki.getInstance().getLogger().info("METRICS: " + Metrics.getInstance());
+        return ordered;
     }
 
-    public static void html(String messages){
+    /**
+     * Hands the inspections to the report, the query API and the event listeners.
+     *
+     * @param inspections the inspections in report order
+     */
+    public static void publish(List<Inspection> inspections){
+        Main.html(inspections);
+        Main.snapshot.set(Snapshot.of(inspections));
+        if(Main.events != null) Main.events.update(inspections);
+    }
+
+    public static void html(List<Inspection> inspections){
+        if(Main.report == null) return;
+
+        long start = System.nanoTime();
         try{
-            Files.write(Main.htmlOutput, String.format(Main.html, TextFormat.replaceTo(TextFormat.Type.HTML, messages.replaceAll(" ", "&nbsp;"))).getBytes(StandardCharsets.UTF_8));
+            if(!Main.report.write(inspections)) Metrics.counter("html_unchanged").increment();
         }catch(Exception e){
+            Metrics.counter("html_errors").increment();
+            e.printStackTrace();
+        }finally{
+            Metrics.histogram("html").recordSince(start);
+        }
+    }
+
+    /**
+     * Appends a finalized day to the history of its target.
+     */
+    public static void record(Inspection inspection){
+        HistoryStore historyStore = inspection.getInspector().getHistoryStore();
+        if(historyStore == null) return;
+
+        try{
+            if(historyStore.append(inspection)){
+                Takoyaki.getInstance().getLogger().info("기록을 저장했습니다: " + AllocationInspector.KOREAN_DATE_FORMAT.format(inspection.getDate()) + " (" + historyStore.getPath() + ")");
+            }
+        }catch(IOException e){
             e.printStackTrace();
         }
     }
@@ -117,12 +255,15 @@ public class Main {
     public static boolean delay(long millis){
         if(!Main.DELAY) return false;
 
+        long start = System.nanoTime();
         try{
             Thread.sleep(millis);
             return true;
         }catch(InterruptedException e){
             e.printStackTrace();
             return false;
+        }finally{
+            Metrics.histogram("delay").recordSince(start);
         }
     }
 }
@@ -1,20 +1,18 @@
 package pe.chalk.cafe;
 
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import pe.chalk.takoyaki.Takoyaki;
 import pe.chalk.takoyaki.model.Member;
 import pe.chalk.takoyaki.model.SimpleArticle;
 import pe.chalk.takoyaki.utils.TextFormat;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.HashMap;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
-import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
@@ -22,42 +20,107 @@ import java.util.regex.Pattern;
  * @since 2015-10-10
  */
 public class MemberArticle extends SimpleArticle {
-    public static final SimpleDateFormat FORMAT = new SimpleDateFormat("yyyy.MM.dd. HH:mm", Locale.KOREA);
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd.", Locale.KOREA);
+    public static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm", Locale.KOREA);
+    public static final int UNKNOWN_TIME = Integer.MIN_VALUE;
+    public static final String ARTICLE_READ_URL = "http://cafe.naver.com/ArticleRead.nhn?clubid=%d&articleid=%d";
     public static final Pattern MENU_ID_PATTERN = Pattern.compile("&search\\.menuid=(\\d+)&");
-    public static final Map<Integer, MemberArticle> cache = new HashMap<>();
+    public static final Pattern WRITER_ID_PATTERN = Pattern.compile("ui\\(event,\\s*'([^']+)'");
+    public static final Cache<Long, MemberArticle> cache = new Cache<>("게시글", 100000, 3, TimeUnit.HOURS);
 
+    private final int clubId;
     private String uploadDate;
     private String uploadTime;
     private Member writer;
     private int menuId = 0;
 
+    private LocalDate uploadLocalDate;
+    private volatile int epochMinute = MemberArticle.UNKNOWN_TIME;
+
     public MemberArticle(int targetId, int id, String title, int commentCount, String uploadDate, Member writer){
         super(targetId, id, title, commentCount);
-        MemberArticle.cache.put(this.getId(), this);
+        this.clubId = targetId;
+        MemberArticle.cache.put(MemberArticle.key(targetId, id), this);
 
         this.uploadDate = uploadDate;
+        this.uploadLocalDate = MemberArticle.parseUploadDate(uploadDate);
         this.writer = writer;
     }
 
+    /**
+     * @return a key that tells apart the articles of different clubs, whose ids may be the same
+     */
+    static long key(int clubId, int id){
+        return (long) clubId << 32 | id & 0xFFFFFFFFL;
+    }
+
+    /**
+     * List pages show the time instead of the date for the articles uploaded today.
+     */
+    static LocalDate parseUploadDate(String uploadDate){
+        try{
+            return LocalDate.parse(uploadDate, MemberArticle.DATE_FORMAT);
+        }catch(DateTimeParseException e){
+            try{
+                LocalTime.parse(uploadDate, MemberArticle.TIME_FORMAT);
+                return LocalDate.now(AllocationInspector.ZONE);
+            }catch(DateTimeParseException ignored){
+                return null;
+            }
+        }
+    }
+
     public static MemberArticle fromElement(Element element, int targetId, Member writer){
-        int id = Integer.parseInt(element.select("span.m-tcol-c.list-count").first().text());
-        if(MemberArticle.cache.containsKey(id)){
-            return MemberArticle.cache.get(id);
+        return MemberArticle.fromRow(JsoupPageExtractor.toRow(element), targetId, writer);
+    }
+
+    public static MemberArticle fromRow(ArticleRow row, int targetId, Member writer){
+        MemberArticle cached = MemberArticle.cache.get(MemberArticle.key(targetId, row.getId()));
+        if(cached != null){
+            return cached;
+        }
+
+        ArticleStore.Entry entry = Main.articleStore == null ? null : Main.articleStore.get(targetId, row.getId());
+        if(entry != null){
+            MemberArticle article = new MemberArticle(targetId, row.getId(), entry.getTitle(), row.getCommentCount(), entry.getUploadDate(), writer);
+            article.restore(entry);
+
+            return article;
         }
 
-        String title = element.select("td.board-list > span a.m-tcol-c").first().text();
-        String uploadDate = element.select("td.view-count.m-tcol-c").first().text();
+        return new MemberArticle(targetId, row.getId(), row.getTitle(), row.getCommentCount(), row.getUploadDate(), writer);
+    }
+
+    /**
+     * @return the article as a {@link ShardWorker} described it, with the details it resolved
+     */
+    public static MemberArticle fromSummary(int targetId, int id, int commentCount, int menuId, String uploadDate, String uploadTime, String title, Member writer){
+        MemberArticle article = MemberArticle.cache.get(MemberArticle.key(targetId, id));
+        if(article == null) article = new MemberArticle(targetId, id, title, commentCount, uploadDate, writer);
+        if(!article.isResolved()) article.setDetails(menuId, uploadTime);
 
-        Elements commentElements = element.select("td.board-list > a.m-tcol-p > span.m-tcol-p.num > strong");
-        int commentCount = commentElements.isEmpty() ? 0 : Integer.parseInt(commentElements.first().text());
+        return article;
+    }
 
-        return new MemberArticle(targetId, id, title, commentCount, uploadDate, writer);
+    public int getClubId(){
+        return this.clubId;
     }
 
     public String getUploadDate(){
         return this.uploadDate;
     }
 
+    public LocalDate getUploadLocalDate(){
+        return this.uploadLocalDate;
+    }
+
+    /**
+     * @return the upload date in {@link #DATE_FORMAT}, also for the articles that the list page showed with the time only
+     */
+    public String getFullUploadDate(){
+        return this.uploadLocalDate == null ? this.uploadDate : this.uploadLocalDate.format(MemberArticle.DATE_FORMAT);
+    }
+
     public String getUploadTime(){
         return this.getUploadTime(true);
     }
@@ -77,13 +140,34 @@ public class MemberArticle extends SimpleArticle {
         return this.getUploadDate() + " " + this.getUploadTime(update);
     }
 
-    public Date getDate(){
+    /**
+     * @return minutes since the epoch at which the article was uploaded, or {@link #UNKNOWN_TIME} until it is resolved
+     */
+    public int getEpochMinute(){
+        return this.epochMinute;
+    }
+
+    /**
+     * Replaces the date of the list page with the date of the article page, which is always a full date.
+     */
+    private void setUploadDate(String uploadDate){
         try{
-            return MemberArticle.FORMAT.parse(this.getUploadDateAndTime());
-        }catch(ParseException e){
+            this.uploadLocalDate = LocalDate.parse(uploadDate, MemberArticle.DATE_FORMAT);
+            this.uploadDate = uploadDate;
+        }catch(DateTimeParseException e){
+            e.printStackTrace();
+        }
+    }
+
+    private void setUploadTime(String uploadTime){
+        this.uploadTime = uploadTime;
+
+        if(this.uploadLocalDate == null || uploadTime == null || uploadTime.equals("")) return;
+        try{
+            this.epochMinute = ArticleIndex.toEpochMinute(this.uploadLocalDate.atTime(LocalTime.parse(uploadTime, MemberArticle.TIME_FORMAT)).atZone(AllocationInspector.ZONE));
+        }catch(DateTimeParseException e){
             e.printStackTrace();
         }
-        return null;
     }
 
     public Member getWriter(){
@@ -99,25 +183,70 @@ public class MemberArticle extends SimpleArticle {
         return this.menuId;
     }
 
-    public void update(){
-        Main.delay(500);
+    public boolean isResolved(){
+        return this.menuId != 0 && this.uploadTime != null && !this.uploadTime.equals("");
+    }
+
+    private void restore(ArticleStore.Entry entry){
+        this.menuId = entry.getMenuId();
+        this.setUploadDate(entry.getUploadDate());
+        this.setUploadTime(entry.getUploadTime());
+        this.onResolved();
+    }
+
+    private void onResolved(){
+        if(this.isResolved()) MemberArticle.cache.put(MemberArticle.key(this.getClubId(), this.getId()), this, Cache.FOREVER);
+    }
+
+    void setDetails(int menuId, String uploadTime){
+        if(menuId != 0) this.menuId = menuId;
+        this.setUploadTime(uploadTime);
+        this.onResolved();
+    }
+
+    void copyDetails(MemberArticle that){
+        this.menuId = that.menuId;
+        this.setUploadTime(that.uploadTime);
+        this.onResolved();
+    }
+
+    /**
+     * Fetches the article page for the menu id and the upload time, unless the article store has them.
+     *
+     * @return whether the article is resolved now; false if its page could not be fetched or read
+     */
+    public boolean update(){
+        ArticleStore.Entry entry = Main.articleStore == null ? null : Main.articleStore.get(this.getClubId(), this.getId());
+        if(entry != null){
+            this.restore(entry);
+            return this.isResolved();
+        }
+
         Takoyaki.getInstance().getLogger().info("UPDATE: " + this.toString());
 
+        long start = System.nanoTime();
         try{
-            Document document = Main.parse("http://cafe.naver.com/ArticleRead.nhn?clubid=23683173&articleid=" + this.getId());
-
-            Matcher menuIdMatcher = MemberArticle.MENU_ID_PATTERN.matcher(document.select("div.tit-box div.fl a.m-tcol-c").first().attr("href"));
-            if(menuIdMatcher.find()){
-                this.menuId = Integer.parseInt(menuIdMatcher.group(1));
-            }
+            String url = String.format(MemberArticle.ARTICLE_READ_URL, this.getTarget().getClubId(), this.getId());
+            ArticleDetail detail = Main.extractor.prefersDocument() ? Main.extractor.extractDetail(Main.parse(url)) : Main.extractor.extractDetail(Main.fetch(url));
+            if(detail == null) throw new IOException("Article header not found: " + url);
 
-            String uploadTime = document.select("div.tit-box div.fr td.m-tcol-c.date").first().text();
+            String uploadTime = detail.getDate();
             if(uploadTime.length() > 5){
+                this.setUploadDate(uploadTime.substring(0, uploadTime.length() - 5).trim());
                 uploadTime = uploadTime.substring(uploadTime.length() - 5);
             }
-            this.uploadTime = uploadTime;
+            this.setDetails(detail.getMenuId(), uploadTime);
+
+            if(Main.articleStore != null && this.isResolved()){
+                Main.articleStore.put(this);
+            }
+            return this.isResolved();
         }catch(Exception e){
+            Metrics.counter("article_update_errors").increment();
             e.printStackTrace();
+            return false;
+        }finally{
+            Metrics.histogram("article_update").recordSince(start);
         }
     }
 
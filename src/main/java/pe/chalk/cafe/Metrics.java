@@ -0,0 +1,129 @@
+package pe.chalk.cafe;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Process-wide registry of latency histograms, counters and gauges.
+ * Every histogram is registered as an MXBean under {@code pe.chalk.cafe:type=Histogram}, the counters and gauges under {@code pe.chalk.cafe:type=Metrics},
+ * and {@link #toPrometheus()} renders all of them in the Prometheus text exposition format.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Metrics implements MetricsMXBean {
+    public static final String PREFIX = "allocation_inspector_";
+    public static final String DOMAIN = "pe.chalk.cafe";
+
+    private static final Metrics instance = new Metrics();
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    private Metrics(){
+        Metrics.register(Metrics.DOMAIN + ":type=Metrics", this);
+    }
+
+    public static Metrics getInstance(){
+        return Metrics.instance;
+    }
+
+    public static Histogram histogram(String name){
+        return Metrics.instance.histograms.computeIfAbsent(name, key -> {
+            Histogram histogram = new Histogram(key);
+            Metrics.register(Metrics.DOMAIN + ":type=Histogram,name=" + key, histogram);
+
+            return histogram;
+        });
+    }
+
+    public static LongAdder counter(String name){
+        return Metrics.instance.counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static void gauge(String name, DoubleSupplier supplier){
+        Metrics.instance.gauges.put(name, supplier);
+    }
+
+    public static void gauge(Cache<?, ?> cache, String name){
+        Metrics.gauge("cache_" + name + "_hits", cache::getHits);
+        Metrics.gauge("cache_" + name + "_misses", cache::getMisses);
+        Metrics.gauge("cache_" + name + "_hit_ratio", cache::getHitRatio);
+        Metrics.gauge("cache_" + name + "_size", cache::size);
+    }
+
+    private static void register(String name, Object bean){
+        try{
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if(!server.isRegistered(objectName)) server.registerMBean(bean, objectName);
+        }catch(JMException e){
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters(){
+        Map<String, Long> counters = new TreeMap<>();
+        this.counters.forEach((name, counter) -> counters.put(name, counter.sum()));
+
+        return counters;
+    }
+
+    @Override
+    public Map<String, Double> getGauges(){
+        Map<String, Double> gauges = new TreeMap<>();
+        this.gauges.forEach((name, gauge) -> gauges.put(name, gauge.getAsDouble()));
+
+        return gauges;
+    }
+
+    public String toPrometheus(){
+        final StringBuilder builder = new StringBuilder(4096);
+
+        new TreeMap<>(this.histograms).forEach((name, histogram) -> {
+            String metric = Metrics.PREFIX + name + "_seconds";
+            builder.append("# TYPE ").append(metric).append(" summary\n");
+            for(double quantile : new double[]{0.5, 0.99, 1.0}){
+                builder.append(metric).append("{quantile=\"").append(quantile).append("\"} ").append(Metrics.toSeconds(histogram.getQuantile(quantile))).append('\n');
+            }
+            builder.append(metric).append("_sum ").append(Metrics.toSeconds(histogram.getSumNanos())).append('\n');
+            builder.append(metric).append("_count ").append(histogram.getCount()).append('\n');
+        });
+
+        this.getCounters().forEach((name, value) -> {
+            String metric = Metrics.PREFIX + name + "_total";
+            builder.append("# TYPE ").append(metric).append(" counter\n");
+            builder.append(metric).append(' ').append(value).append('\n');
+        });
+
+        this.getGauges().forEach((name, value) -> {
+            String metric = Metrics.PREFIX + name;
+            builder.append("# TYPE ").append(metric).append(" gauge\n");
+            builder.append(metric).append(' ').append(value).append('\n');
+        });
+
+        return builder.toString();
+    }
+
+    private static double toSeconds(long nanos){
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder();
+        new TreeMap<>(this.histograms).values().forEach(histogram -> builder.append(String.format("%n")).append(histogram));
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package pe.chalk.cafe;
+
+import java.util.Map;
+
+/**
+ * JMX view of the counters and gauges of {@link Metrics}.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+    Map<String, Double> getGauges();
+}
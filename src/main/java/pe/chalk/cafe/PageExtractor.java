@@ -0,0 +1,54 @@
+package pe.chalk.cafe;
+
+import org.jsoup.nodes.Document;
+
+import java.util.List;
+
+/**
+ * Pulls the few fields the inspector needs out of a member's article list page and out of an article page.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public interface PageExtractor {
+    /**
+     * @return the rows of {@code tr[align=center]:not([class])}, in page order
+     */
+    List<ArticleRow> extractRows(String html);
+
+    /**
+     * @return the menu id and the date cell of {@code div.tit-box}, or {@code null} if the page has no such header
+     */
+    ArticleDetail extractDetail(String html);
+
+    /**
+     * @return whether the extractor works on a parsed document, so that pages are fetched with {@link Fetcher#fetchDocument(String)} and never serialized and parsed again
+     */
+    default boolean prefersDocument(){
+        return false;
+    }
+
+    default List<ArticleRow> extractRows(Document document){
+        return this.extractRows(document.outerHtml());
+    }
+
+    default ArticleDetail extractDetail(Document document){
+        return this.extractDetail(document.outerHtml());
+    }
+
+    static PageExtractor of(String name){
+        switch(name){
+            case "jsoup":
+                return new JsoupPageExtractor();
+
+            case "streaming":
+                return new StreamingPageExtractor();
+
+            case "verify":
+                return new VerifyingPageExtractor(new JsoupPageExtractor(), new StreamingPageExtractor());
+
+            default:
+                throw new IllegalArgumentException("Unknown extractor: " + name);
+        }
+    }
+}
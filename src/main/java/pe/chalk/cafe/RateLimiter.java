@@ -0,0 +1,73 @@
+package pe.chalk.cafe;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Token bucket of one {@link Session}, shared by every thread that fetches through it.
+ * Tokens refill at {@code permitsPerSecond}, and at most {@code maxInFlight} requests may be running at once.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class RateLimiter {
+    private final double permitsPerSecond;
+    private final double capacity;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private double tokens;
+    private long lastRefill;
+
+    public RateLimiter(double permitsPerSecond, int maxInFlight){
+        if(permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        if(maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1.0, permitsPerSecond);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight, true);
+
+        this.tokens = 1.0;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public double getPermitsPerSecond(){
+        return this.permitsPerSecond;
+    }
+
+    public int getMaxInFlight(){
+        return this.maxInFlight;
+    }
+
+    public void acquire() throws InterruptedException {
+        this.inFlight.acquire();
+        try{
+            if(Main.DELAY) this.take();
+        }catch(InterruptedException e){
+            this.inFlight.release();
+            throw e;
+        }
+    }
+
+    public void release(){
+        this.inFlight.release();
+    }
+
+    private void take() throws InterruptedException {
+        while(true){
+            long waitMillis;
+            synchronized(this){
+                long now = System.nanoTime();
+                this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) / 1e9 * this.permitsPerSecond);
+                this.lastRefill = now;
+
+                if(this.tokens >= 1.0){
+                    this.tokens -= 1.0;
+                    return;
+                }
+                waitMillis = (long) Math.ceil((1.0 - this.tokens) * 1000 / this.permitsPerSecond);
+            }
+            Thread.sleep(Math.max(1, waitMillis));
+        }
+    }
+}
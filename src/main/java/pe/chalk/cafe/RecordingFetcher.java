@@ -0,0 +1,47 @@
+package pe.chalk.cafe;
+
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+
+/**
+ * Passes every fetch through to another fetcher and writes the URL and the response body into a {@link FetchArchive}.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class RecordingFetcher implements Fetcher {
+    private final Fetcher delegate;
+    private final FetchArchive archive;
+
+    public RecordingFetcher(Fetcher delegate, FetchArchive archive){
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+
+    @Override
+    public String fetch(String url) throws IOException {
+        String body = this.delegate.fetch(url);
+        this.archive.put(url, body);
+
+        return body;
+    }
+
+    @Override
+    public Document fetchDocument(String url) throws IOException {
+        Document document = this.delegate.fetchDocument(url);
+        this.archive.put(url, document.outerHtml());
+
+        return document;
+    }
+
+    @Override
+    public boolean isRaw(){
+        return this.delegate.isRaw();
+    }
+
+    @Override
+    public String toString(){
+        return this.delegate + ", 기록 " + this.archive.getRecords() + "개 (" + this.archive.getPath() + ")";
+    }
+}
@@ -0,0 +1,51 @@
+package pe.chalk.cafe;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves pages from a {@link FetchArchive} without touching the network, optionally sleeping to simulate the cafe's latency.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ReplayFetcher implements Fetcher {
+    private final FetchArchive archive;
+    private final long latencyMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ReplayFetcher(FetchArchive archive, long latencyMillis){
+        this.archive = archive;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public String fetch(String url) throws IOException {
+        if(this.latencyMillis > 0){
+            try{
+                Thread.sleep(this.latencyMillis);
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying: " + url);
+            }
+        }
+
+        String body = this.archive.next(url);
+        if(body == null){
+            this.misses.incrementAndGet();
+            throw new FileNotFoundException("Not recorded: " + url);
+        }
+
+        this.hits.incrementAndGet();
+        return body;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("ReplayFetcher: 재생 %d, 누락 %d, 지연 %dms (%s)", this.hits.get(), this.misses.get(), this.latencyMillis, this.archive.getPath());
+    }
+}
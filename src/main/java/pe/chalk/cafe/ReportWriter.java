@@ -0,0 +1,167 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.utils.TextFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the HTML report from the inspections, rendering each day's section only when its results changed.
+ * The report is written to a temporary file next to the output, forced to disk and renamed over it, so readers never see a half-written report, even after a crash.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ReportWriter {
+    private static final Set<PosixFilePermission> DEFAULT_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+
+    private final Path output;
+    private final byte[] header;
+    private final byte[] footer;
+    private final byte[] separator;
+
+    private final Map<String, Section> sections = new HashMap<>();
+    private List<Section> written = new ArrayList<>();
+
+    /**
+     * @param template the report template, whose only {@code %s} is replaced with the sections
+     */
+    public ReportWriter(Path output, String template){
+        int index = template.indexOf("%s");
+        if(index < 0) throw new IllegalArgumentException("No %s in the report template");
+
+        this.output = output.toAbsolutePath();
+        this.header = ReportWriter.unescape(template.substring(0, index)).getBytes(StandardCharsets.UTF_8);
+        this.footer = ReportWriter.unescape(template.substring(index + 2)).getBytes(StandardCharsets.UTF_8);
+        this.separator = ReportWriter.toHtml(String.format("%n%n")).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Path getOutput(){
+        return this.output;
+    }
+
+    /**
+     * @param inspections the inspections in the order they appear in the report
+     * @return false if the report is unchanged and was not written
+     */
+    public synchronized boolean write(List<Inspection> inspections) throws IOException {
+        final List<Section> sections = new ArrayList<>(inspections.size());
+        boolean changed = inspections.size() != this.written.size();
+
+        for(int i = 0; i < inspections.size(); i++){
+            Section section = this.getSection(inspections.get(i));
+            if(!changed && section != this.written.get(i)) changed = true;
+
+            sections.add(section);
+        }
+
+        if(!changed) return false;
+
+        final ByteBuffer[] buffers = new ByteBuffer[sections.size() * 2 + 1];
+        int position = 0;
+        buffers[position++] = ByteBuffer.wrap(this.header);
+        for(int i = 0; i < sections.size(); i++){
+            if(i > 0) buffers[position++] = ByteBuffer.wrap(this.separator);
+            buffers[position++] = ByteBuffer.wrap(sections.get(i).html);
+        }
+        buffers[position++] = ByteBuffer.wrap(this.footer);
+
+        final Path temp = Files.createTempFile(this.getOutput().getParent(), this.getOutput().getFileName().toString(), ".tmp");
+        try{
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+                while(buffers[position - 1].hasRemaining()){
+                    channel.write(buffers, 0, position);
+                }
+                channel.force(true);
+            }
+
+            ReportWriter.replace(temp, this.getOutput());
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+
+        this.written = sections;
+        return true;
+    }
+
+    /**
+     * Renames {@code temp} over {@code target}, atomically where the file system allows it.
+     * Temporary files are created readable only by their owner, so {@code temp} first takes the permissions of {@code target},
+     * or {@code rw-r--r--} if there is no {@code target} yet.
+     */
+    static void replace(Path temp, Path target) throws IOException {
+        try{
+            Files.setPosixFilePermissions(temp, Files.exists(target) ? Files.getPosixFilePermissions(target) : ReportWriter.DEFAULT_PERMISSIONS);
+        }catch(UnsupportedOperationException ignored){}
+
+        try{
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }catch(AtomicMoveNotSupportedException e){
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Section getSection(Inspection inspection){
+        String key = inspection.getInspector().getClubId() + "#" + inspection.getDate();
+        long fingerprint = inspection.getFingerprint();
+
+        Section section = this.sections.get(key);
+        if(section == null || section.fingerprint != fingerprint){
+            section = new Section(inspection.getDate(), fingerprint, ReportWriter.toHtml(inspection.getMessage()).getBytes(StandardCharsets.UTF_8));
+            this.sections.put(key, section);
+        }
+        return section;
+    }
+
+    /**
+     * Forgets the sections of the days before {@code first}.
+     */
+    public synchronized void prune(LocalDate first){
+        this.sections.values().removeIf(section -> section.date.isBefore(first));
+    }
+
+    private static String toHtml(String message){
+        return TextFormat.replaceTo(TextFormat.Type.HTML, message.replace(" ", "&nbsp;"));
+    }
+
+    private static String unescape(String template){
+        final StringBuilder builder = new StringBuilder(template.length());
+        for(int i = 0; i < template.length(); i++){
+            char c = template.charAt(i);
+            if(c == '%' && i + 1 < template.length()){
+                char next = template.charAt(++i);
+                builder.append(next == 'n' ? System.lineSeparator() : String.valueOf(next));
+            }else{
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static class Section {
+        private final LocalDate date;
+        private final long fingerprint;
+        private final byte[] html;
+
+        private Section(LocalDate date, long fingerprint, byte[] html){
+            this.date = date;
+            this.fingerprint = fingerprint;
+            this.html = html;
+        }
+    }
+}
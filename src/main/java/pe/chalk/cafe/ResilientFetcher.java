@@ -0,0 +1,223 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the latency of the fetches of one {@link Session}: every attempt has a timeout, a failed attempt is retried after a jittered exponential delay,
+ * a slow attempt can be hedged with a second request once it is slower than the {@code hedgeQuantile} of the latencies of the last {@code hedgeWindow} fetches,
+ * and a {@link CircuitBreaker} fails every request at once while the error rate is too high.
+ * The timeout and the hedge delay count from the moment the request holds a permit of the session's {@link RateLimiter},
+ * so a request waiting behind the others of the same process neither times out nor counts against the breaker.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ResilientFetcher {
+    private static final int MINIMUM_SAMPLES = 20;
+
+    private final RateLimiter limiter;
+    private final long timeoutMillis;
+    private final int retries;
+    private final long retryDelayMillis;
+    private final boolean hedge;
+    private final double hedgeQuantile;
+    private final long minimumHedgeDelayMillis;
+    private final CircuitBreaker breaker;
+
+    private final long[] latencies;
+    private int latencyCount, latencyPosition;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ResilientFetcher");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /**
+     * @param properties the {@code resilience} block of AllocationInspector.json, or {@code null} for the defaults
+     */
+    public ResilientFetcher(RateLimiter limiter, JSONObject properties){
+        if(properties == null) properties = new JSONObject();
+
+        this.limiter = limiter;
+        this.timeoutMillis = properties.optLong("timeout", 30000);
+        this.retries = properties.optInt("retries", 2);
+        this.retryDelayMillis = properties.optLong("retryDelay", 500);
+        this.hedge = properties.optBoolean("hedge", false);
+        this.hedgeQuantile = properties.optDouble("hedgeQuantile", 0.95);
+        this.minimumHedgeDelayMillis = properties.optLong("minimumHedgeDelay", 200);
+        this.latencies = new long[Math.max(ResilientFetcher.MINIMUM_SAMPLES, properties.optInt("hedgeWindow", 200))];
+        this.breaker = new CircuitBreaker(properties.optInt("breakerWindow", 50), properties.optInt("breakerMinimumRequests", 10),
+                properties.optDouble("breakerFailureRate", 0.5), properties.optLong("breakerOpenDuration", 60000));
+    }
+
+    public CircuitBreaker getBreaker(){
+        return this.breaker;
+    }
+
+    /**
+     * @param call the request itself, run while holding a permit of the rate limiter
+     */
+    public <T> T fetch(String url, Fetcher.Call<T> call) throws IOException {
+        IOException failure = null;
+        for(int attempt = 0; attempt <= this.retries; attempt++){
+            if(attempt > 0){
+                Metrics.counter("fetch_retries").increment();
+                this.sleep(url, (long) (this.retryDelayMillis * (1L << (attempt - 1)) * ThreadLocalRandom.current().nextDouble(0.5, 1.5)));
+            }
+
+            this.breaker.acquire();
+            try{
+                T page = this.attempt(url, call);
+                this.breaker.record(true);
+
+                return page;
+            }catch(CircuitBreaker.CircuitOpenException e){
+                throw e;
+            }catch(InterruptedIOException e){
+                this.breaker.record(false);
+                if(Thread.currentThread().isInterrupted()) throw e;
+                failure = e;
+            }catch(IOException e){
+                this.breaker.record(false);
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * @return the page from the first of the primary and the hedged request to succeed
+     */
+    private <T> T attempt(String url, Fetcher.Call<T> call) throws IOException {
+        final CompletionService<T> completion = new ExecutorCompletionService<>(this.executor);
+        final List<Future<T>> futures = new ArrayList<>(2);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        futures.add(completion.submit(() -> this.limited(url, call, started)));
+        boolean hedged = false;
+        IOException failure;
+        try{
+            started.await();
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+
+            long hedgeAt = Long.MAX_VALUE;
+            long recent = this.hedge ? this.getRecentLatency(this.hedgeQuantile) : -1;
+            if(recent >= 0){
+                hedgeAt = System.nanoTime() + Math.max(TimeUnit.MILLISECONDS.toNanos(this.minimumHedgeDelayMillis), recent);
+            }
+
+            while(true){
+                long now = System.nanoTime();
+                if(now >= deadline) throw new SocketTimeoutException("Timed out after " + this.timeoutMillis + "ms: " + url);
+
+                boolean canHedge = !hedged && hedgeAt < deadline;
+                Future<T> done = completion.poll((canHedge ? Math.min(hedgeAt, deadline) : deadline) - now, TimeUnit.NANOSECONDS);
+                if(done == null){
+                    if(canHedge && System.nanoTime() >= hedgeAt){
+                        Metrics.counter("fetch_hedges").increment();
+                        futures.add(completion.submit(() -> this.limited(url, call, new CountDownLatch(1))));
+                        hedged = true;
+                    }
+                    continue;
+                }
+
+                try{
+                    return done.get();
+                }catch(ExecutionException e){
+                    failure = ResilientFetcher.toIOException(e.getCause());
+
+                    // the other request may still succeed
+                    futures.remove(done);
+                    if(futures.isEmpty()) throw failure;
+                }
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching: " + url);
+        }finally{
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Runs the request once a permit of the rate limiter is free, counting {@code started} down as soon as the request leaves the queue.
+     */
+    private <T> T limited(String url, Fetcher.Call<T> call, CountDownLatch started) throws IOException {
+        long start = System.nanoTime();
+        try{
+            this.limiter.acquire();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rate limiter: " + url);
+        }finally{
+            Metrics.histogram("rate_limit_wait").recordSince(start);
+            started.countDown();
+        }
+
+        try{
+            start = System.nanoTime();
+            T page = call.fetch(url);
+            this.sample(System.nanoTime() - start);
+
+            return page;
+        }finally{
+            this.limiter.release();
+        }
+    }
+
+    private synchronized void sample(long nanos){
+        this.latencies[this.latencyPosition] = nanos;
+        this.latencyPosition = (this.latencyPosition + 1) % this.latencies.length;
+        if(this.latencyCount < this.latencies.length) this.latencyCount++;
+    }
+
+    /**
+     * @return the {@code quantile} of the latencies of the last {@code hedgeWindow} fetches in nanoseconds, or -1 with too few of them
+     */
+    public synchronized long getRecentLatency(double quantile){
+        if(this.latencyCount < ResilientFetcher.MINIMUM_SAMPLES) return -1;
+
+        long[] sorted = Arrays.copyOf(this.latencies, this.latencyCount);
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1))];
+    }
+
+    private static IOException toIOException(Throwable cause){
+        if(cause instanceof IOException) return (IOException) cause;
+        if(cause instanceof UncheckedIOException) return ((UncheckedIOException) cause).getCause();
+        return new IOException(cause);
+    }
+
+    private void sleep(String url, long millis) throws InterruptedIOException {
+        try{
+            Thread.sleep(millis);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry: " + url);
+        }
+    }
+
+    @Override
+    public String toString(){
+        long recent = this.getRecentLatency(this.hedgeQuantile);
+        return "ResilientFetcher(" + this.breaker.getState() + (recent < 0 ? "" : String.format(", 최근 p%.0f %.1fms", this.hedgeQuantile * 100, recent / 1e6)) + ")";
+    }
+}
@@ -17,11 +17,20 @@ public class Result implements Comparable<Result>, Comparator<Result> {
     private Member writer;
     private List<MemberArticle> articles;
     private int allocatedArticles;
+    private boolean incomplete;
 
     public Result(Member writer, List<MemberArticle> articles, int allocatedArticles){
+        this(writer, articles, allocatedArticles, false);
+    }
+
+    /**
+     * @param incomplete whether some pages of the writer could not be fetched, so that {@code articles} may lack some of them
+     */
+    public Result(Member writer, List<MemberArticle> articles, int allocatedArticles, boolean incomplete){
         this.writer = writer;
         this.articles = articles;
         this.allocatedArticles = allocatedArticles;
+        this.incomplete = incomplete;
     }
 
     public Member getWriter(){
@@ -36,6 +45,17 @@ public class Result implements Comparable<Result>, Comparator<Result> {
         return this.allocatedArticles;
     }
 
+    public boolean isIncomplete(){
+        return this.incomplete;
+    }
+
+    /**
+     * @return whether the result is incomplete and the known articles are not enough to call it a success
+     */
+    public boolean isUnknown(){
+        return this.isIncomplete() && !this.isSucceeded();
+    }
+
     public MemberArticle get(int index){
         return this.getArticles().get(index);
     }
@@ -79,7 +99,8 @@ public class Result implements Comparable<Result>, Comparator<Result> {
     }
 
     public TextFormat getColor(){
-        if(this.isEmpty()) return TextFormat.DARK_RED;
+        if(this.isUnknown()) return TextFormat.GRAY;
+        else if(this.isEmpty()) return TextFormat.DARK_RED;
         else if(this.isExceed()) return TextFormat.AQUA;
         else if(this.isSucceeded()) return TextFormat.GREEN;
         else if(this.isHalfDone()) return TextFormat.YELLOW;
@@ -103,7 +124,7 @@ public class Result implements Comparable<Result>, Comparator<Result> {
 
     public String toString(String prefix){
         return String.format("%s%s%s%2d/%-2d %s %s%s%5s %s",
-                TextFormat.BOLD, this.getColor(), prefix, this.size(), this.getAllocatedArticles(), this.isSucceeded() ? "SUCCESS" : "FAILURE",
+                TextFormat.BOLD, this.getColor(), prefix, this.size(), this.getAllocatedArticles(), this.isSucceeded() ? "SUCCESS" : this.isUnknown() ? "UNKNOWN" : "FAILURE",
                 TextFormat.RESET, this.getColor(), this.getMajorArticleUploadTime().orElse(""), this.getWriter());
     }
 }
@@ -0,0 +1,138 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+import pe.chalk.takoyaki.Takoyaki;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the passes of the main loop and decides when the next one starts.
+ * A day is finalized once a pass that started {@code finalizeDelay} after its window closed finishes without a failed fetch,
+ * and finalized days are served from memory without crawling.
+ * Passes run every {@code pollInterval}, every {@code deadlinePollInterval} within {@code deadlineWindow} of the end of the current window,
+ * and back off exponentially up to {@code maxBackoff} while fetches fail, though never past the start of the deadline window or longer than {@code deadlinePollInterval} inside it.
+ * Only fetches that failed after every retry count as failed; attempts that a retry recovered are counted as {@code fetch_attempt_errors}.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Scheduler {
+    public static final String[] ERROR_COUNTERS = {"fetch_errors", "list_page_errors", "board_page_errors", "article_update_errors", "shard_errors"};
+
+    private final Duration pollInterval;
+    private final Duration deadlinePollInterval;
+    private final Duration deadlineWindow;
+    private final Duration finalizeDelay;
+    private final Duration maxBackoff;
+
+    private int failures = 0;
+
+    public Scheduler(JSONObject properties){
+        if(properties == null) properties = new JSONObject();
+
+        this.pollInterval = Duration.ofSeconds(properties.optLong("pollInterval", 300));
+        this.deadlinePollInterval = Duration.ofSeconds(properties.optLong("deadlinePollInterval", 60));
+        this.deadlineWindow = Duration.ofSeconds(properties.optLong("deadlineWindow", 1800));
+        this.finalizeDelay = Duration.ofSeconds(properties.optLong("finalizeDelay", 600));
+        this.maxBackoff = Duration.ofSeconds(properties.optLong("maxBackoff", 3600));
+    }
+
+    public int getFailures(){
+        return this.failures;
+    }
+
+    public void run(){
+        //noinspection InfiniteLoopStatement
+        while(true){
+            final ZonedDateTime start = ZonedDateTime.now(AllocationInspector.ZONE);
+            final long errors = Scheduler.countErrors();
+            boolean failed;
+
+            try{
+                final LocalDate first = LocalDate.now(AllocationInspector.ZONE).minusDays(Main.days - 1);
+                Main.inspectors.forEach(inspector -> {
+                    if(Main.incremental) inspector.prune(first);
+                    inspector.pruneFinalized(first);
+                });
+                if(Main.report != null) Main.report.prune(first);
+
+                List<Inspection> inspections = Main.inspect(IntStream.range(0, Main.days).mapToObj(first::plusDays));
+
+                failed = Scheduler.countErrors() > errors;
+                if(!failed) this.finalizeDays(inspections, start);
+                if(Main.checkpoint != null) Main.checkpoint.update(inspections);
+            }catch(Exception e){
+                e.printStackTrace();
+                failed = true;
+            }
+
+            this.failures = failed ? this.failures + 1 : 0;
+            Metrics.counter(failed ? "passes_failed" : "passes").increment();
+
+            Duration delay = this.getDelay(ZonedDateTime.now(AllocationInspector.ZONE));
+            Takoyaki.getInstance().getLogger().info(String.format("다음 검사까지 %d초 대기합니다%s", delay.getSeconds(), this.failures > 0 ? " (실패 " + this.failures + "회)" : ""));
+            Main.delay(delay.toMillis());
+        }
+    }
+
+    private static long countErrors(){
+        long errors = 0;
+        for(String counter : Scheduler.ERROR_COUNTERS){
+            errors += Metrics.counter(counter).sum();
+        }
+        return errors;
+    }
+
+    private void finalizeDays(List<Inspection> inspections, ZonedDateTime passStart){
+        for(Inspection inspection : inspections){
+            if(inspection.getInspector().isFinalized(inspection.getDate())) continue;
+            if(passStart.isBefore(inspection.getEnd().plus(this.finalizeDelay)) || inspection.isIncomplete()) continue;
+
+            inspection.getInspector().markFinalized(inspection);
+            Main.record(inspection);
+            Takoyaki.getInstance().getLogger().info("검사를 마감했습니다: " + AllocationInspector.KOREAN_DATE_FORMAT.format(inspection.getDate()) + ": " + inspection.getInspector().getTarget().getName());
+        }
+    }
+
+    /**
+     * @return the time to wait before the next pass that starts at {@code now}
+     */
+    Duration getDelay(ZonedDateTime now){
+        return this.getDelay(now, this.failures);
+    }
+
+    /**
+     * @param failures the number of passes in a row that failed
+     */
+    Duration getDelay(ZonedDateTime now, int failures){
+        final LocalDate today = now.toLocalDate();
+        final ZonedDateTime deadline = now.isBefore(AllocationInspector.getDayStart(today)) ? AllocationInspector.getDayStart(today) : AllocationInspector.getDayStart(today.plusDays(1));
+        final Duration untilWindow = Duration.between(now, deadline.minus(this.deadlineWindow));
+        final boolean closing = untilWindow.isNegative() || untilWindow.isZero();
+
+        if(failures > 0){
+            Duration backoff = this.pollInterval.multipliedBy(1L << Math.min(failures - 1, 20));
+            if(backoff.compareTo(this.maxBackoff) > 0) backoff = this.maxBackoff;
+
+            // a failed pass must not sleep through the end of the window
+            Duration limit = closing ? this.deadlinePollInterval : untilWindow.plusSeconds(1);
+            return backoff.compareTo(limit) > 0 ? limit : backoff;
+        }
+
+        Duration delay = closing ? this.deadlinePollInterval : this.pollInterval;
+
+        // wakes up for the pass that finalizes the window that closed last, or else the one that closes next
+        ZonedDateTime finalizable = AllocationInspector.getDayStart(deadline.toLocalDate().minusDays(1)).plus(this.finalizeDelay);
+        if(!finalizable.isAfter(now)) finalizable = deadline.plus(this.finalizeDelay);
+
+        Duration untilFinalizable = Duration.between(now, finalizable);
+        if(untilFinalizable.compareTo(delay) < 0) delay = untilFinalizable;
+
+        return delay.isNegative() ? Duration.ZERO : delay.plusMillis(TimeUnit.SECONDS.toMillis(1));
+    }
+}
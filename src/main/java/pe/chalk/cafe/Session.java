@@ -0,0 +1,111 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One way of reaching the cafe, such as a staff account, with its own rate limit, timeouts and circuit breaker.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Session {
+    private final String name;
+    private final Fetcher fetcher;
+    private final RateLimiter limiter;
+    private final ResilientFetcher resilience;
+
+    private final AtomicInteger load = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * @param resilience the {@code resilience} block of AllocationInspector.json, or {@code null} for the defaults
+     */
+    public Session(String name, Fetcher fetcher, RateLimiter limiter, JSONObject resilience){
+        this.name = name;
+        this.fetcher = fetcher;
+        this.limiter = limiter;
+        this.resilience = new ResilientFetcher(limiter, resilience);
+    }
+
+    /**
+     * @param properties a {@code sessions} entry, or the top level of AllocationInspector.json: a {@code fetcher} block with {@code requestsPerSecond} and {@code maxInFlight},
+     *                   and a {@code resilience} block that overrides {@code resilience}
+     */
+    public static Session of(String name, JSONObject properties, JSONObject resilience){
+        return new Session(properties.optString("name", name), Fetcher.of(properties.optJSONObject("fetcher")),
+                new RateLimiter(properties.optDouble("requestsPerSecond", 2.0), properties.optInt("maxInFlight", 4)),
+                properties.has("resilience") ? properties.getJSONObject("resilience") : resilience);
+    }
+
+    public String getName(){
+        return this.name;
+    }
+
+    public Fetcher getFetcher(){
+        return this.fetcher;
+    }
+
+    public RateLimiter getLimiter(){
+        return this.limiter;
+    }
+
+    public CircuitBreaker getBreaker(){
+        return this.resilience.getBreaker();
+    }
+
+    /**
+     * @return the number of requests waiting for or holding a permit of this session
+     */
+    public int getLoad(){
+        return this.load.get();
+    }
+
+    public long getRequests(){
+        return this.requests.sum();
+    }
+
+    public String fetch(String url) throws IOException {
+        return this.fetch(url, this.fetcher::fetch);
+    }
+
+    public Document fetchDocument(String url) throws IOException {
+        return this.fetch(url, this.fetcher::fetchDocument);
+    }
+
+    private <T> T fetch(String url, Fetcher.Call<T> call) throws IOException {
+        this.load.incrementAndGet();
+        try{
+            return this.resilience.fetch(url, target -> this.fetchNow(target, call));
+        }catch(IOException e){
+            Metrics.counter("fetch_errors").increment();
+            throw e;
+        }finally{
+            this.load.decrementAndGet();
+        }
+    }
+
+    private <T> T fetchNow(String url, Fetcher.Call<T> call) throws IOException {
+        this.requests.increment();
+        Metrics.counter("fetch_requests").increment();
+
+        long start = System.nanoTime();
+        try{
+            return call.fetch(url);
+        }catch(IOException | RuntimeException e){
+            Metrics.counter("fetch_attempt_errors").increment();
+            throw e;
+        }finally{
+            Metrics.histogram("fetch").recordSince(start);
+        }
+    }
+
+    @Override
+    public String toString(){
+        return this.getName() + ": " + this.getRequests() + "회, " + this.getFetcher() + ", " + this.resilience;
+    }
+}
@@ -0,0 +1,100 @@
+package pe.chalk.cafe;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads the fetches of every target over the configured sessions, sending each one to the least loaded session.
+ * Since every session has its own rate limit, the throughput of a pass grows with the number of sessions.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class SessionPool implements Fetcher {
+    private final List<Session> sessions;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public SessionPool(List<Session> sessions){
+        if(sessions.isEmpty()) throw new IllegalArgumentException("No sessions");
+        this.sessions = Collections.unmodifiableList(new ArrayList<>(sessions));
+
+        Metrics.gauge("circuit_open", () -> this.sessions.stream().filter(session -> session.getBreaker().getState() != CircuitBreaker.State.CLOSED).count());
+    }
+
+    /**
+     * @param properties AllocationInspector.json; each entry of {@code sessions} is a session, or the top level is the only session if there is none
+     * @param resilience the {@code resilience} block of AllocationInspector.json, which applies to every session that has none of its own
+     */
+    public static SessionPool of(JSONObject properties, JSONObject resilience){
+        final List<Session> sessions = new ArrayList<>();
+
+        JSONArray array = properties.optJSONArray("sessions");
+        if(array == null){
+            sessions.add(Session.of("기본", properties, resilience));
+        }else for(int i = 0; i < array.length(); i++){
+            sessions.add(Session.of("세션 " + (i + 1), array.getJSONObject(i), resilience));
+        }
+        return new SessionPool(sessions);
+    }
+
+    public List<Session> getSessions(){
+        return this.sessions;
+    }
+
+    /**
+     * @return the number of requests that may be running at once over all sessions
+     */
+    public int getMaxInFlight(){
+        return this.sessions.stream().mapToInt(session -> session.getLimiter().getMaxInFlight()).sum();
+    }
+
+    @Override
+    public String fetch(String url) throws IOException {
+        return this.select().fetch(url);
+    }
+
+    @Override
+    public Document fetchDocument(String url) throws IOException {
+        return this.select().fetchDocument(url);
+    }
+
+    @Override
+    public boolean isRaw(){
+        return this.sessions.stream().allMatch(session -> session.getFetcher().isRaw());
+    }
+
+    /**
+     * @return the session with the least load among those whose breaker lets a request through, if any,
+     *         starting the search at a rotating position so that ties are spread evenly
+     */
+    private Session select(){
+        final int size = this.sessions.size();
+        if(size == 1) return this.sessions.get(0);
+
+        final int start = Math.floorMod(this.next.getAndIncrement(), size);
+        Session selected = null;
+        boolean selectedAvailable = false;
+        for(int i = 0; i < size; i++){
+            Session session = this.sessions.get((start + i) % size);
+            boolean available = session.getBreaker().isAvailable();
+            if(selected == null || available && !selectedAvailable || available == selectedAvailable && session.getLoad() < selected.getLoad()){
+                selected = session;
+                selectedAvailable = available;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString(){
+        return this.sessions.stream().map(Session::toString).collect(Collectors.joining(", "));
+    }
+}
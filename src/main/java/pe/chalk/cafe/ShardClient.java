@@ -0,0 +1,175 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends shards of assignees to one {@link ShardWorker} and turns the answers back into articles.
+ * Connections are kept open and reused, so that several targets can be sent to the same worker at once.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ShardClient implements Closeable {
+    /** Waits on the workers; the requests only block on sockets, so they get their own threads instead of those of the targets. */
+    static final ExecutorService REQUESTS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ShardClient");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+
+    public ShardClient(String host, int port, int timeoutMillis){
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @param properties an entry of {@code shards} in AllocationInspector.json
+     */
+    public static ShardClient of(JSONObject properties){
+        return new ShardClient(properties.optString("host", "localhost"), properties.getInt("port"), properties.optInt("timeout", 600000));
+    }
+
+    public int getPort(){
+        return this.port;
+    }
+
+    /**
+     * @param incomplete set for each member the worker could not crawl completely
+     * @return the articles of each member uploaded on the dates from {@code first} to {@code last}, in member order
+     * @throws IOException if the worker could not be reached or answered badly; no partial answer is returned
+     */
+    public List<List<MemberArticle>> crawl(AllocationInspector inspector, List<Member> members, LocalDate first, LocalDate last, boolean[] incomplete) throws IOException {
+        final long start = System.nanoTime();
+        try{
+            Connection reused = this.idle.poll();
+            if(reused != null){
+                try{
+                    return this.request(reused, inspector, members, first, last, incomplete);
+                }catch(SocketTimeoutException e){
+                    throw e;
+                }catch(IOException e){
+                    // the worker may have restarted since the connection was opened
+                    Metrics.counter("shard_reconnects").increment();
+                }
+            }
+            return this.request(new Connection(), inspector, members, first, last, incomplete);
+        }finally{
+            Metrics.histogram("shard_request").recordSince(start);
+        }
+    }
+
+    private List<List<MemberArticle>> request(Connection connection, AllocationInspector inspector, List<Member> members, LocalDate first, LocalDate last, boolean[] incomplete) throws IOException {
+        try{
+            DataOutputStream output = connection.output;
+            output.writeInt(ShardWorker.MAGIC);
+            output.writeInt(inspector.getClubId());
+            output.writeLong(first.toEpochDay());
+            output.writeLong(last.toEpochDay());
+            output.writeInt(members.size());
+            for(Member member : members) output.writeUTF(member.getId());
+            output.flush();
+
+            final Map<String, Integer> positions = new HashMap<>(members.size() * 2);
+            for(int i = 0; i < members.size(); i++) positions.put(members.get(i).getId(), i);
+
+            final List<List<MemberArticle>> candidates = new ArrayList<>(members.size());
+            members.forEach(member -> candidates.add(null));
+
+            DataInputStream input = connection.input;
+            for(byte tag = input.readByte(); tag != ShardWorker.END; tag = input.readByte()){
+                if(tag != ShardWorker.ASSIGNEE) throw new IOException("Unexpected tag from shard " + this + ": " + tag);
+
+                final Integer position = positions.get(input.readUTF());
+                final boolean assigneeIncomplete = input.readBoolean();
+                final int count = input.readInt();
+                if(position == null) throw new IOException("Unknown assignee from shard " + this);
+
+                final Member writer = members.get(position);
+                final List<MemberArticle> articles = new ArrayList<>(count);
+                for(int i = 0; i < count; i++){
+                    articles.add(MemberArticle.fromSummary(inspector.getClubId(), input.readInt(), input.readInt(), input.readInt(), input.readUTF(), input.readUTF(), input.readUTF(), writer));
+                }
+
+                candidates.set(position, articles);
+                incomplete[position] = assigneeIncomplete;
+            }
+
+            for(int i = 0; i < candidates.size(); i++){
+                if(candidates.get(i) == null) throw new IOException("Shard " + this + " did not answer for " + members.get(i).getId());
+            }
+
+            this.idle.add(connection);
+            return candidates;
+        }catch(IOException | RuntimeException e){
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close(){
+        for(Connection connection = this.idle.poll(); connection != null; connection = this.idle.poll()){
+            connection.close();
+        }
+    }
+
+    @Override
+    public String toString(){
+        return this.host + ":" + this.port;
+    }
+
+    private class Connection {
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+
+        private Connection() throws IOException {
+            this.socket = new Socket();
+            try{
+                this.socket.connect(new InetSocketAddress(ShardClient.this.host, ShardClient.this.port), ShardClient.this.timeoutMillis);
+                this.socket.setSoTimeout(ShardClient.this.timeoutMillis);
+                this.socket.setTcpNoDelay(true);
+
+                this.input = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+                this.output = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+            }catch(IOException e){
+                this.socket.close();
+                throw e;
+            }
+        }
+
+        private void close(){
+            try{
+                this.socket.close();
+            }catch(IOException e){
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.Takoyaki;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Crawls shards of assignees for a coordinator, which runs {@link Main} with {@code shards} configured.
+ * Each connection carries any number of requests one after another, and the answer to a request is streamed back assignee by assignee.
+ *
+ * <pre>
+ * request  := MAGIC clubId(int) first(long) last(long) count(int) writerId(UTF)*
+ * response := assignee* END
+ * assignee := ASSIGNEE writerId(UTF) incomplete(boolean) count(int) article*
+ * article  := id(int) commentCount(int) menuId(int) uploadDate(UTF) uploadTime(UTF) title(UTF)
+ * </pre>
+ *
+ * Dates are epoch days. The articles are resolved before they are sent, so the coordinator never fetches them again.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ShardWorker implements Runnable {
+    static final int MAGIC = 0x53484431;
+    static final byte ASSIGNEE = 1;
+    static final byte END = 0;
+
+    private final int port;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ShardWorker");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    public ShardWorker(int port){
+        this.port = port;
+    }
+
+    @Override
+    public void run(){
+        try(ServerSocket server = new ServerSocket(this.port, 50, InetAddress.getLoopbackAddress())){
+            Takoyaki.getInstance().getLogger().info("작업자를 시작했습니다: " + server.getLocalSocketAddress());
+            while(!Thread.currentThread().isInterrupted()){
+                Socket socket = server.accept();
+                this.connections.execute(() -> this.serve(socket));
+            }
+        }catch(IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    private void serve(Socket socket){
+        try(Socket connection = socket;
+            DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()))){
+            while(true){
+                int magic;
+                try{
+                    magic = input.readInt();
+                }catch(EOFException e){
+                    return;
+                }
+                if(magic != ShardWorker.MAGIC) throw new IOException("Not a shard request: " + Integer.toHexString(magic));
+
+                final int clubId = input.readInt();
+                final LocalDate first = LocalDate.ofEpochDay(input.readLong());
+                final LocalDate last = LocalDate.ofEpochDay(input.readLong());
+                final int count = input.readInt();
+                final List<String> writerIds = new ArrayList<>(count);
+                for(int i = 0; i < count; i++) writerIds.add(input.readUTF());
+
+                this.answer(clubId, first, last, writerIds, output);
+            }
+        }catch(IOException e){
+            Metrics.counter("shard_errors").increment();
+            e.printStackTrace();
+        }
+    }
+
+    private void answer(int clubId, LocalDate first, LocalDate last, List<String> writerIds, DataOutputStream output) throws IOException {
+        final long start = System.nanoTime();
+        final AllocationInspector inspector = Main.inspectors.stream().filter(target -> target.getClubId() == clubId).findFirst().orElse(null);
+
+        final List<Member> members = new ArrayList<>(writerIds.size());
+        for(String writerId : writerIds){
+            Member member = inspector == null ? null : inspector.getAssignee(writerId);
+            if(member == null){
+                ShardWorker.writeAssignee(output, writerId, true, new ArrayList<>());
+            }else{
+                members.add(member);
+            }
+        }
+
+        if(!members.isEmpty()){
+            // the coordinator prunes its own inspectors before every pass; the worker polls into the history of its own copy
+            if(Main.incremental) inspector.prune(first);
+
+            // every assignee belongs to one shard and is asked for once per pass, so its list pages must be fetched again;
+            // the pages of the assignees that other connections are crawling stay cached
+            final Set<String> prefixes = members.stream().map(member -> member.getId() + "#").collect(Collectors.toSet());
+            AllocationInspector.cache.removeIf(key -> prefixes.contains(key.substring(0, key.indexOf('#') + 1)));
+
+            final boolean[] incomplete = new boolean[members.size()];
+            final List<List<MemberArticle>> candidates = inspector.crawlAssignees(members, first, last, incomplete);
+            inspector.resolve(candidates, incomplete);
+
+            for(int i = 0; i < members.size(); i++){
+                ShardWorker.writeAssignee(output, members.get(i).getId(), incomplete[i], candidates.get(i));
+            }
+        }
+        output.writeByte(ShardWorker.END);
+        output.flush();
+
+        Metrics.histogram("shard").recordSince(start);
+        Takoyaki.getInstance().getLogger().info(String.format("SHARD: %d명을 검사했습니다: %d (%s ~ %s)", writerIds.size(), clubId, first, last));
+    }
+
+    private static void writeAssignee(DataOutputStream output, String writerId, boolean incomplete, List<MemberArticle> articles) throws IOException {
+        output.writeByte(ShardWorker.ASSIGNEE);
+        output.writeUTF(writerId);
+        output.writeBoolean(incomplete);
+        output.writeInt(articles.size());
+        for(MemberArticle article : articles){
+            output.writeInt(article.getId());
+            output.writeInt(article.getCommentCount());
+            output.writeInt(article.getMenuId(false));
+            output.writeUTF(ShardWorker.orEmpty(article.getFullUploadDate()));
+            output.writeUTF(ShardWorker.orEmpty(article.getUploadTime(false)));
+            output.writeUTF(ShardWorker.orEmpty(article.getTitle()));
+        }
+        output.flush();
+    }
+
+    private static String orEmpty(String string){
+        return string == null ? "" : string;
+    }
+}
@@ -0,0 +1,167 @@
+package pe.chalk.cafe;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the results of one pass, with every JSON response of the query API encoded in advance.
+ * A new snapshot replaces the old one at the end of each pass, so a request only looks up bytes and never waits on the inspection.
+ *
+ * <pre>
+ * /api/inspections                       every target and day
+ * /api/inspections/{clubId}              every day of the target
+ * /api/inspections/{clubId}/{yyyy-MM-dd} one day of the target
+ * </pre>
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class Snapshot {
+    public static final String PREFIX = "/api/inspections";
+    public static final Snapshot EMPTY = Snapshot.of(Collections.emptyList());
+
+    private final ZonedDateTime createdAt;
+    private final Map<String, Body> bodies;
+
+    private Snapshot(ZonedDateTime createdAt, Map<String, Body> bodies){
+        this.createdAt = createdAt;
+        this.bodies = Collections.unmodifiableMap(bodies);
+    }
+
+    /**
+     * @param inspections the inspections of a pass, in report order
+     */
+    public static Snapshot of(List<Inspection> inspections){
+        final ZonedDateTime createdAt = ZonedDateTime.now(AllocationInspector.ZONE);
+        final Map<AllocationInspector, JSONArray> days = new LinkedHashMap<>();
+        final Map<String, Body> bodies = new HashMap<>();
+
+        for(Inspection inspection : inspections){
+            JSONObject day = Snapshot.toJSON(inspection);
+            days.computeIfAbsent(inspection.getInspector(), inspector -> new JSONArray()).put(day);
+            bodies.put(Snapshot.PREFIX + "/" + inspection.getInspector().getClubId() + "/" + inspection.getDate(), new Body(day));
+        }
+
+        final JSONArray targets = new JSONArray();
+        days.forEach((inspector, array) -> {
+            JSONObject target = new JSONObject();
+            target.put("clubId", inspector.getClubId());
+            target.put("name", inspector.getTarget().getName());
+            target.put("allocatedArticles", inspector.getAllocatedArticles());
+            target.put("days", array);
+
+            targets.put(target);
+            bodies.put(Snapshot.PREFIX + "/" + inspector.getClubId(), new Body(target));
+        });
+
+        JSONObject root = new JSONObject();
+        root.put("targets", targets);
+        bodies.put(Snapshot.PREFIX, new Body(root));
+
+        return new Snapshot(createdAt, bodies);
+    }
+
+    private static JSONObject toJSON(Inspection inspection){
+        final JSONArray results = new JSONArray();
+        int alive = 0, succeeded = 0, unknown = 0, total = 0;
+
+        for(Result result : inspection.getResults()){
+            JSONArray articles = new JSONArray();
+            for(MemberArticle article : result.getArticles()){
+                JSONObject json = new JSONObject();
+                json.put("id", article.getId());
+                json.put("title", article.getTitle());
+                json.put("menuId", article.getMenuId(false));
+                json.put("uploadDate", article.getUploadLocalDate() == null ? JSONObject.NULL : article.getUploadLocalDate().toString());
+                json.put("uploadTime", article.getUploadTime(false) == null ? JSONObject.NULL : article.getUploadTime(false));
+                articles.put(json);
+            }
+
+            JSONObject json = new JSONObject();
+            json.put("writerId", result.getWriter().getId());
+            json.put("writerNickname", result.getWriter().getNickname());
+            json.put("size", result.size());
+            json.put("allocatedArticles", result.getAllocatedArticles());
+            json.put("succeeded", result.isSucceeded());
+            json.put("incomplete", result.isIncomplete());
+            json.put("color", result.getColor().name());
+            json.put("articles", articles);
+            results.put(json);
+
+            if(result.isUnknown()){
+                unknown++;
+                continue;
+            }
+            if(result.isAlive()) alive++;
+            if(result.isSucceeded()) succeeded++;
+            total += result.size();
+        }
+
+        JSONObject json = new JSONObject();
+        json.put("date", inspection.getDate().toString());
+        json.put("start", inspection.getStart().toString());
+        json.put("end", inspection.getEnd().toString());
+        json.put("finalized", inspection.getInspector().isFinalized(inspection.getDate()));
+        json.put("assignees", inspection.getInspector().getAssignees().size());
+        json.put("alive", alive);
+        json.put("succeeded", succeeded);
+        json.put("unknown", unknown);
+        json.put("total", total);
+        json.put("results", results);
+        return json;
+    }
+
+    public ZonedDateTime getCreatedAt(){
+        return this.createdAt;
+    }
+
+    /**
+     * @return the response for the path, or null if there is none
+     */
+    public Body get(String path){
+        if(path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        return this.bodies.get(path);
+    }
+
+    public static class Body {
+        private final byte[] bytes;
+        private final String eTag;
+
+        private Body(JSONObject json){
+            this.bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            this.eTag = Body.digest(this.bytes);
+        }
+
+        private static String digest(byte[] bytes){
+            try{
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+
+                StringBuilder builder = new StringBuilder(2 + 16 * 2).append('"');
+                for(int i = 0; i < 16; i++){
+                    builder.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+                }
+                return builder.append('"').toString();
+            }catch(NoSuchAlgorithmException e){
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public byte[] getBytes(){
+            return this.bytes;
+        }
+
+        public String getETag(){
+            return this.eTag;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pe.chalk.cafe;
+
+import org.jsoup.nodes.Document;
+import pe.chalk.takoyaki.Target;
+
+import java.io.IOException;
+
+/**
+ * Fetches through the logged-in staff session of a Takoyaki target.
+ * The session only hands back parsed documents, so they are only serialized back to HTML for the extractors that need it.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class StaffFetcher implements Fetcher {
+    private final Target target;
+
+    public StaffFetcher(Target target){
+        this.target = target;
+    }
+
+    public Target getTarget(){
+        return this.target;
+    }
+
+    @Override
+    public String fetch(String url) throws IOException {
+        return this.fetchDocument(url).outerHtml();
+    }
+
+    @Override
+    public Document fetchDocument(String url) throws IOException {
+        return this.target.getStaff().parse(url);
+    }
+
+    @Override
+    public boolean isRaw(){
+        return false;
+    }
+
+    @Override
+    public String toString(){
+        return "StaffFetcher(" + this.target.getName() + ")";
+    }
+}
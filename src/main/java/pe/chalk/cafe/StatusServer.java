@@ -0,0 +1,153 @@
+package pe.chalk.cafe;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Small local HTTP server for the status endpoints, bound to the loopback address.
+ * The inspection itself never waits on it: requests are served from a separate thread pool,
+ * and every response is built from data that is already computed, such as the latest {@link Snapshot}.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class StatusServer {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final int maxEventClients;
+    private final AtomicInteger eventClients = new AtomicInteger();
+
+    public StatusServer(int port, int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "StatusServer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+
+        // each event stream holds a thread for as long as it is open, so one thread is always left for the other endpoints
+        this.maxEventClients = Math.max(0, threads - 1);
+
+        this.handle("/metrics", exchange -> StatusServer.respond(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", Metrics.getInstance().toPrometheus().getBytes(StandardCharsets.UTF_8)));
+        this.handle(Snapshot.PREFIX, StatusServer::serveSnapshot);
+        this.handle("/events", this::serveEvents);
+    }
+
+    /**
+     * Streams the {@link ChangeEvent}s as server-sent events until the client disconnects or falls too far behind.
+     */
+    private void serveEvents(HttpExchange exchange) throws IOException {
+        if(Main.events == null || this.eventClients.incrementAndGet() > this.maxEventClients){
+            if(Main.events != null) this.eventClients.decrementAndGet();
+            StatusServer.respond(exchange, 503, "text/plain; charset=utf-8", "Too many event streams".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        final BlockingQueue<ChangeEvent> events = new ArrayBlockingQueue<>(256);
+        final AtomicBoolean overflow = new AtomicBoolean(false);
+        final Consumer<ChangeEvent> listener = event -> {
+            if(!events.offer(event)) overflow.set(true);
+        };
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        Main.events.addListener(listener);
+        try(OutputStream output = exchange.getResponseBody()){
+            output.write(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+            output.flush();
+
+            while(!overflow.get()){
+                ChangeEvent event = events.poll(15, TimeUnit.SECONDS);
+                String message = event == null ? ": keep-alive\n\n" : "id: " + event.getSequence() + "\nevent: " + event.getType() + "\ndata: " + event.toJSON() + "\n\n";
+
+                output.write(message.getBytes(StandardCharsets.UTF_8));
+                output.flush();
+            }
+        }catch(IOException e){
+            // the client disconnected
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally{
+            Main.events.removeListener(listener);
+            this.eventClients.decrementAndGet();
+        }
+    }
+
+    private static void serveSnapshot(HttpExchange exchange) throws IOException {
+        Snapshot.Body body = Main.snapshot.get().get(exchange.getRequestURI().getPath());
+        if(body == null){
+            StatusServer.respond(exchange, 404, "application/json; charset=utf-8", "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        exchange.getResponseHeaders().set("ETag", body.getETag());
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if(ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || Arrays.stream(ifNoneMatch.split(",")).map(String::trim).anyMatch(body.getETag()::equals))){
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        StatusServer.respond(exchange, 200, "application/json; charset=utf-8", body.getBytes());
+    }
+
+    public void handle(String path, HttpHandler handler){
+        this.server.createContext(path, exchange -> {
+            try{
+                handler.handle(exchange);
+            }catch(Exception e){
+                e.printStackTrace();
+                StatusServer.respond(exchange, 500, "text/plain; charset=utf-8", String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+            }finally{
+                exchange.close();
+            }
+        });
+    }
+
+    public static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        boolean head = exchange.getRequestMethod().equalsIgnoreCase("HEAD");
+        exchange.sendResponseHeaders(status, head ? -1 : body.length == 0 ? -1 : body.length);
+
+        if(!head && body.length > 0){
+            try(OutputStream output = exchange.getResponseBody()){
+                output.write(body);
+            }
+        }
+    }
+
+    public void start(){
+        this.server.start();
+    }
+
+    public void stop(){
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    public int getPort(){
+        return this.server.getAddress().getPort();
+    }
+}
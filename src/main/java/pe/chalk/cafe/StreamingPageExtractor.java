@@ -0,0 +1,229 @@
+package pe.chalk.cafe;
+
+import org.jsoup.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Extracts the fields in a single forward scan over the raw HTML, without building a document tree.
+ * The list scan stops at the end of the table that holds the article rows, and the article scan stops as soon as the header fields are found.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class StreamingPageExtractor implements PageExtractor {
+    @Override
+    public List<ArticleRow> extractRows(String html){
+        final List<ArticleRow> rows = new ArrayList<>();
+        final int length = html.length();
+
+        int position = 0;
+        while(true){
+            int row = StreamingPageExtractor.findTag(html, "tr", position, length);
+            if(row < 0) break;
+
+            if(!rows.isEmpty()){
+                int tableEnd = StreamingPageExtractor.findEndTag(html, "table", position, row);
+                if(tableEnd >= 0) break;
+            }
+
+            int rowStart = html.indexOf('>', row);
+            if(rowStart < 0) break;
+
+            String align = StreamingPageExtractor.attribute(html, row, rowStart, "align");
+            if(align != null && align.equalsIgnoreCase("center") && StreamingPageExtractor.attribute(html, row, rowStart, "class") == null){
+                int rowEnd = StreamingPageExtractor.findEndTag(html, "tr", rowStart, length);
+                if(rowEnd < 0) rowEnd = length;
+
+                rows.add(this.toRow(html, rowStart + 1, rowEnd));
+                position = rowEnd;
+            }else{
+                position = rowStart + 1;
+            }
+        }
+        return rows;
+    }
+
+    private ArticleRow toRow(String html, int from, int to){
+        int idElement = StreamingPageExtractor.findElement(html, from, to, "span", "m-tcol-c", "list-count");
+        int dateElement = StreamingPageExtractor.findElement(html, from, to, "td", "view-count", "m-tcol-c");
+        int boardList = StreamingPageExtractor.findElement(html, from, to, "td", "board-list");
+        if(idElement < 0 || dateElement < 0 || boardList < 0) throw new IllegalStateException("Malformed article row: " + html.substring(from, to));
+
+        int boardListEnd = StreamingPageExtractor.findEndTag(html, "td", boardList, to);
+        if(boardListEnd < 0) boardListEnd = to;
+
+        int titleSpan = StreamingPageExtractor.findTag(html, "span", boardList, boardListEnd);
+        int titleElement = titleSpan < 0 ? -1 : StreamingPageExtractor.findElement(html, titleSpan, boardListEnd, "a", "m-tcol-c");
+        if(titleElement < 0) throw new IllegalStateException("Malformed article row: " + html.substring(from, to));
+
+        int commentCount = 0;
+        int commentLink = StreamingPageExtractor.findElement(html, boardList, boardListEnd, "a", "m-tcol-p");
+        int commentSpan = commentLink < 0 ? -1 : StreamingPageExtractor.findElement(html, commentLink, boardListEnd, "span", "m-tcol-p", "num");
+        int commentElement = commentSpan < 0 ? -1 : StreamingPageExtractor.findTag(html, "strong", commentSpan, boardListEnd);
+        if(commentElement >= 0){
+            commentCount = Integer.parseInt(StreamingPageExtractor.text(html, commentElement, "strong", boardListEnd));
+        }
+
+        String writerId = null;
+        int nickElement = StreamingPageExtractor.findElement(html, from, to, "td", "p-nick");
+        int writerElement = nickElement < 0 ? -1 : StreamingPageExtractor.findTag(html, "a", nickElement, to);
+        String onclick = writerElement < 0 ? null : StreamingPageExtractor.attribute(html, writerElement, html.indexOf('>', writerElement), "onclick");
+        if(onclick != null){
+            Matcher writerIdMatcher = MemberArticle.WRITER_ID_PATTERN.matcher(onclick);
+            if(writerIdMatcher.find()) writerId = writerIdMatcher.group(1);
+        }
+
+        return new ArticleRow(
+                Integer.parseInt(StreamingPageExtractor.text(html, idElement, "span", to)),
+                StreamingPageExtractor.text(html, titleElement, "a", boardListEnd),
+                commentCount,
+                StreamingPageExtractor.text(html, dateElement, "td", to),
+                writerId);
+    }
+
+    @Override
+    public ArticleDetail extractDetail(String html){
+        final int length = html.length();
+
+        int titleBox = StreamingPageExtractor.findElement(html, 0, length, "div", "tit-box");
+        if(titleBox < 0) return null;
+
+        int left = StreamingPageExtractor.findElement(html, titleBox, length, "div", "fl");
+        int menuElement = left < 0 ? -1 : StreamingPageExtractor.findElement(html, left, length, "a", "m-tcol-c");
+
+        int right = StreamingPageExtractor.findElement(html, titleBox, length, "div", "fr");
+        int dateElement = right < 0 ? -1 : StreamingPageExtractor.findElement(html, right, length, "td", "m-tcol-c", "date");
+        if(menuElement < 0 || dateElement < 0) return null;
+
+        String href = StreamingPageExtractor.attribute(html, menuElement, html.indexOf('>', menuElement), "href");
+        Matcher menuIdMatcher = MemberArticle.MENU_ID_PATTERN.matcher(href == null ? "" : href);
+
+        return new ArticleDetail(menuIdMatcher.find() ? Integer.parseInt(menuIdMatcher.group(1)) : 0, StreamingPageExtractor.text(html, dateElement, "td", length));
+    }
+
+    /**
+     * @return the index of the first {@code <name} start tag in {@code [from, to)}, or -1
+     */
+    static int findTag(String html, String name, int from, int to){
+        int position = from;
+        while(true){
+            position = html.indexOf('<', position);
+            if(position < 0 || position >= to) return -1;
+
+            int next = position + 1 + name.length();
+            if(html.regionMatches(true, position + 1, name, 0, name.length()) && next < html.length() && StreamingPageExtractor.isTagNameEnd(html.charAt(next))){
+                return position;
+            }
+            position++;
+        }
+    }
+
+    static int findEndTag(String html, String name, int from, int to){
+        return StreamingPageExtractor.findTag(html, "/" + name, from, to);
+    }
+
+    /**
+     * @return the index of the first {@code <name} start tag in {@code [from, to)} carrying every class in {@code classes}, or -1
+     */
+    static int findElement(String html, int from, int to, String name, String... classes){
+        int position = from;
+        while((position = StreamingPageExtractor.findTag(html, name, position, to)) >= 0){
+            int tagEnd = html.indexOf('>', position);
+            if(tagEnd < 0) return -1;
+
+            if(StreamingPageExtractor.hasClasses(StreamingPageExtractor.attribute(html, position, tagEnd, "class"), classes)) return position;
+            position = tagEnd;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the decoded value of the attribute in the start tag at {@code [start, end)}, or {@code null} if the tag has no such attribute
+     */
+    static String attribute(String html, int start, int end, String name){
+        int position = start + 1;
+        while(position < end && !Character.isWhitespace(html.charAt(position)) && html.charAt(position) != '>') position++;
+
+        while(position < end){
+            while(position < end && (Character.isWhitespace(html.charAt(position)) || html.charAt(position) == '/')) position++;
+
+            int nameStart = position;
+            while(position < end && html.charAt(position) != '=' && html.charAt(position) != '>' && !Character.isWhitespace(html.charAt(position))) position++;
+            if(position == nameStart) break;
+            boolean matches = position - nameStart == name.length() && html.regionMatches(true, nameStart, name, 0, name.length());
+
+            while(position < end && Character.isWhitespace(html.charAt(position))) position++;
+            if(position >= end || html.charAt(position) != '='){
+                if(matches) return "";
+                continue;
+            }
+
+            position++;
+            while(position < end && Character.isWhitespace(html.charAt(position))) position++;
+
+            int valueStart, valueEnd;
+            if(position < end && (html.charAt(position) == '"' || html.charAt(position) == '\'')){
+                char quote = html.charAt(position);
+                valueStart = position + 1;
+                valueEnd = html.indexOf(quote, valueStart);
+                if(valueEnd < 0 || valueEnd > end) valueEnd = end;
+                position = valueEnd + 1;
+            }else{
+                valueStart = position;
+                while(position < end && !Character.isWhitespace(html.charAt(position)) && html.charAt(position) != '>') position++;
+                valueEnd = position;
+            }
+
+            if(matches) return Parser.unescapeEntities(html.substring(valueStart, valueEnd), true);
+        }
+        return null;
+    }
+
+    private static boolean hasClasses(String classAttribute, String... classes){
+        if(classAttribute == null) return false;
+
+        String[] present = classAttribute.trim().split("\\s+");
+        outer:
+        for(String required : classes){
+            for(String name : present){
+                if(name.equalsIgnoreCase(required)) continue outer;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the whitespace-normalized text of the element whose start tag begins at {@code start}, like {@link org.jsoup.nodes.Element#text()}
+     */
+    static String text(String html, int start, String name, int to){
+        int contentStart = html.indexOf('>', start) + 1;
+        int contentEnd = StreamingPageExtractor.findEndTag(html, name, contentStart, to);
+        if(contentEnd < 0) contentEnd = to;
+
+        StringBuilder text = new StringBuilder(contentEnd - contentStart);
+        boolean inTag = false, pendingSpace = false;
+        for(int i = contentStart; i < contentEnd; i++){
+            char c = html.charAt(i);
+            if(inTag){
+                if(c == '>') inTag = false;
+            }else if(c == '<'){
+                inTag = true;
+            }else if(Character.isWhitespace(c)){
+                pendingSpace = text.length() > 0;
+            }else{
+                if(pendingSpace) text.append(' ');
+                pendingSpace = false;
+                text.append(c);
+            }
+        }
+        return Parser.unescapeEntities(text.toString(), false).trim();
+    }
+
+    private static boolean isTagNameEnd(char c){
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+}
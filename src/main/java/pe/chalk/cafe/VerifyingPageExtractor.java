@@ -0,0 +1,68 @@
+package pe.chalk.cafe;
+
+import pe.chalk.takoyaki.Takoyaki;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs two extractors over every page, logs any difference, and returns the output of the reference extractor.
+ * Used to check the streaming extractor against the Jsoup one on live pages before switching to it.
+ *
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class VerifyingPageExtractor implements PageExtractor {
+    private final PageExtractor reference;
+    private final PageExtractor candidate;
+
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+
+    public VerifyingPageExtractor(PageExtractor reference, PageExtractor candidate){
+        this.reference = reference;
+        this.candidate = candidate;
+    }
+
+    public long getPages(){
+        return this.pages.get();
+    }
+
+    public long getMismatches(){
+        return this.mismatches.get();
+    }
+
+    @Override
+    public List<ArticleRow> extractRows(String html){
+        List<ArticleRow> expected = this.reference.extractRows(html);
+        this.verify("ROWS", expected, () -> this.candidate.extractRows(html));
+
+        return expected;
+    }
+
+    @Override
+    public ArticleDetail extractDetail(String html){
+        ArticleDetail expected = this.reference.extractDetail(html);
+        this.verify("DETAIL", expected, () -> this.candidate.extractDetail(html));
+
+        return expected;
+    }
+
+    private void verify(String kind, Object expected, Supplier<Object> candidate){
+        this.pages.incrementAndGet();
+
+        Object actual;
+        try{
+            actual = candidate.get();
+        }catch(RuntimeException e){
+            actual = e;
+        }
+
+        if(!Objects.equals(expected, actual)){
+            this.mismatches.incrementAndGet();
+            Takoyaki.getInstance().getLogger().error("EXTRACTOR MISMATCH (" + kind + "): expected " + expected + " but was " + actual);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package pe.chalk.cafe;
+
+import org.junit.Test;
+import pe.chalk.takoyaki.model.Member;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleIndexTest {
+    private static final int CLUB_ID = 23683173;
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 18);
+
+    private final Member writer = new Member(ArticleIndexTest.CLUB_ID, "writer", "작성자");
+
+    private MemberArticle article(int id, int menuId, String uploadTime){
+        MemberArticle article = new MemberArticle(ArticleIndexTest.CLUB_ID, id, "글 " + id, 0, ArticleIndexTest.DATE.format(MemberArticle.DATE_FORMAT), this.writer);
+        if(uploadTime != null) article.setDetails(menuId, uploadTime);
+
+        return article;
+    }
+
+    private static int minute(String time){
+        return ArticleIndex.toEpochMinute(ArticleIndexTest.DATE.atTime(LocalTime.parse(time)).atZone(AllocationInspector.ZONE));
+    }
+
+    private static List<Integer> ids(List<MemberArticle> articles){
+        return articles.stream().map(MemberArticle::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void leavesOutUnresolvedAndExcludedArticles(){
+        ArticleIndex index = ArticleIndex.build(Arrays.asList(
+                this.article(710001, 1, "10:00"),
+                this.article(710002, AllocationInspector.EXCLUDED_MENU_ID, "11:00"),
+                this.article(710003, 0, null),
+                this.article(710004, 2, "09:00")));
+
+        assertEquals(2, index.size());
+        assertEquals(710004, index.getId(0));
+        assertEquals(710001, index.getId(1));
+        assertEquals(ArticleIndexTest.minute("09:00"), index.getEpochMinute(0));
+        assertEquals(2, index.getMenuId(0));
+    }
+
+    @Test
+    public void slicesHalfOpenRanges(){
+        ArticleIndex index = ArticleIndex.build(Arrays.asList(
+                this.article(710011, 1, "08:00"),
+                this.article(710012, 1, "09:00"),
+                this.article(710013, 1, "09:00"),
+                this.article(710014, 1, "10:00"),
+                this.article(710015, 1, "23:59")));
+
+        assertEquals(Arrays.asList(710012, 710013), ArticleIndexTest.ids(index.slice(ArticleIndexTest.minute("09:00"), ArticleIndexTest.minute("10:00"))));
+        assertEquals(Arrays.asList(710011, 710012, 710013, 710014), ArticleIndexTest.ids(index.slice(ArticleIndexTest.minute("00:00"), ArticleIndexTest.minute("10:01"))));
+        assertEquals(Arrays.asList(710015), ArticleIndexTest.ids(index.slice(ArticleIndexTest.minute("23:59"), ArticleIndexTest.minute("23:59") + 1)));
+        assertEquals(4, index.count(ArticleIndexTest.minute("08:00"), ArticleIndexTest.minute("10:01")));
+    }
+
+    @Test
+    public void slicesOutsideOrEmptyRanges(){
+        ArticleIndex index = ArticleIndex.build(Arrays.asList(this.article(710021, 1, "12:00"), this.article(710022, 1, "13:00")));
+
+        assertTrue(index.slice(ArticleIndexTest.minute("00:00"), ArticleIndexTest.minute("12:00")).isEmpty());
+        assertTrue(index.slice(ArticleIndexTest.minute("13:01"), ArticleIndexTest.minute("23:00")).isEmpty());
+        assertTrue(index.slice(ArticleIndexTest.minute("13:00"), ArticleIndexTest.minute("12:00")).isEmpty());
+        assertEquals(0, index.count(ArticleIndexTest.minute("13:00"), ArticleIndexTest.minute("12:00")));
+        assertEquals(0, ArticleIndex.build(Arrays.asList()).slice(0, Integer.MAX_VALUE).size());
+    }
+}
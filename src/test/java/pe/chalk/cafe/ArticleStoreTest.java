@@ -0,0 +1,67 @@
+package pe.chalk.cafe;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ArticleStoreTest {
+    private static final int FIRST_CLUB_ID = 23683173, SECOND_CLUB_ID = 10050146;
+    private static final int ARTICLE_ID = 740001;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown(){
+        MemberArticle.cache.clear();
+    }
+
+    private static MemberArticle article(int clubId, String writerId, int menuId, String uploadDate, String uploadTime){
+        final MemberArticle article = new MemberArticle(clubId, ArticleStoreTest.ARTICLE_ID, "글", 0, uploadDate, new Member(clubId, writerId, writerId));
+        article.setDetails(menuId, uploadTime);
+        return article;
+    }
+
+    @Test
+    public void keepsArticlesOfClubsApart() throws IOException {
+        final Path path = this.folder.getRoot().toPath().resolve("articles");
+        try(ArticleStore store = new ArticleStore(path)){
+            store.put(ArticleStoreTest.article(ArticleStoreTest.FIRST_CLUB_ID, "alpha", 3, "2026.10.17.", "21:00"));
+            assertTrue(store.contains(ArticleStoreTest.FIRST_CLUB_ID, ArticleStoreTest.ARTICLE_ID));
+            assertFalse(store.contains(ArticleStoreTest.SECOND_CLUB_ID, ArticleStoreTest.ARTICLE_ID));
+            assertNull(store.get(ArticleStoreTest.SECOND_CLUB_ID, ArticleStoreTest.ARTICLE_ID));
+
+            store.put(ArticleStoreTest.article(ArticleStoreTest.SECOND_CLUB_ID, "beta", 5, "2026.10.18.", "09:30"));
+        }
+
+        try(ArticleStore store = new ArticleStore(path)){
+            assertEquals(2, store.size());
+
+            final ArticleStore.Entry first = store.get(ArticleStoreTest.FIRST_CLUB_ID, ArticleStoreTest.ARTICLE_ID);
+            assertEquals(ArticleStoreTest.FIRST_CLUB_ID, first.getTargetId());
+            assertEquals("alpha", first.getWriterId());
+            assertEquals(3, first.getMenuId());
+            assertEquals("2026.10.17.", first.getUploadDate());
+            assertEquals("21:00", first.getUploadTime());
+
+            final ArticleStore.Entry second = store.get(ArticleStoreTest.SECOND_CLUB_ID, ArticleStoreTest.ARTICLE_ID);
+            assertEquals(ArticleStoreTest.SECOND_CLUB_ID, second.getTargetId());
+            assertEquals("beta", second.getWriterId());
+            assertEquals("09:30", second.getUploadTime());
+        }
+    }
+}
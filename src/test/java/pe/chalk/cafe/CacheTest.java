@@ -0,0 +1,80 @@
+package pe.chalk.cafe;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class CacheTest {
+    @Test
+    public void evictsLeastRecentlyUsed(){
+        Cache<String, Integer> cache = new Cache<>("test", 2, 1, TimeUnit.HOURS);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void shrinksWhenReconfigured(){
+        Cache<String, Integer> cache = new Cache<>("test", 3, 1, TimeUnit.HOURS);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        cache.configure(1, 1, TimeUnit.HOURS);
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+    }
+
+    @Test
+    public void expiresAfterTtl(){
+        Cache<String, Integer> cache = new Cache<>("test", 10, 1, TimeUnit.HOURS);
+        cache.put("expired", 1, 0);
+        cache.put("fresh", 2);
+        cache.put("forever", 3, Cache.FOREVER);
+
+        assertNull(cache.get("expired"));
+        assertEquals(Integer.valueOf(2), cache.get("fresh"));
+        assertEquals(Integer.valueOf(3), cache.get("forever"));
+        assertEquals(1, cache.getExpirations());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void removesMatchingKeys(){
+        Cache<String, Integer> cache = new Cache<>("test", 10, 1, TimeUnit.HOURS);
+        cache.put("alpha#1", 1);
+        cache.put("alpha#2", 2);
+        cache.put("beta#1", 3);
+
+        assertEquals(2, cache.removeIf(key -> key.startsWith("alpha#")));
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(3), cache.get("beta#1"));
+    }
+
+    @Test
+    public void countsHitsAndMisses(){
+        Cache<String, Integer> cache = new Cache<>("test", 10, 1, TimeUnit.HOURS);
+        cache.put("a", 1);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRatio(), 1e-9);
+    }
+}
@@ -0,0 +1,111 @@
+package pe.chalk.cafe;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class CheckpointTest {
+    private static final int CLUB_ID = 23683173;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Member alpha = new Member(CheckpointTest.CLUB_ID, "alpha", "알파");
+    private final Member beta = new Member(CheckpointTest.CLUB_ID, "beta", "베타");
+    private final Member gamma = new Member(CheckpointTest.CLUB_ID, "gamma", "감마");
+
+    private final LocalDate today = LocalDate.now(AllocationInspector.ZONE);
+
+    @After
+    public void tearDown(){
+        Main.inspectors = null;
+        MemberArticle.cache.clear();
+    }
+
+    private static MemberArticle article(int id, String uploadDate, String uploadTime, Member writer){
+        final MemberArticle article = new MemberArticle(CheckpointTest.CLUB_ID, id, "글 " + id, 1, uploadDate, writer);
+        article.setDetails(1, uploadTime);
+        return article;
+    }
+
+    private static List<Integer> ids(List<MemberArticle> articles){
+        return articles.stream().map(MemberArticle::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void restoresInspectorState() throws IOException {
+        final List<Member> members = Arrays.asList(this.alpha, this.beta, this.gamma);
+        final AllocationInspector inspector = new AllocationInspector(CheckpointTest.CLUB_ID, 2, members);
+        Main.inspectors = Collections.singletonList(inspector);
+
+        final LocalDate yesterday = this.today.minusDays(1), old = this.today.minusDays(5);
+        final MemberArticle earlier = CheckpointTest.article(730001, yesterday.format(MemberArticle.DATE_FORMAT), "21:00", this.alpha);
+        final MemberArticle later = CheckpointTest.article(730002, "09:30", "09:30", this.alpha);
+        final MemberArticle other = CheckpointTest.article(730003, "10:00", "10:00", this.beta);
+        final MemberArticle dropped = CheckpointTest.article(730004, "11:00", "11:00", this.gamma);
+
+        inspector.restoreHistory(this.alpha.getId(), Arrays.asList(later, earlier));
+        inspector.restoreHistory(this.gamma.getId(), Collections.singletonList(dropped));
+        inspector.getHighWaterMarks().put(this.alpha.getId(), later.getId());
+
+        final List<Inspection> inspections = new ArrayList<>();
+        inspections.add(inspector.restore(this.today, Arrays.asList(
+                new Result(this.alpha, Collections.singletonList(later), 2),
+                new Result(this.beta, Collections.singletonList(other), 2, true),
+                new Result(this.gamma, Collections.singletonList(dropped), 2)), "오늘", false));
+        inspections.add(inspector.restore(yesterday, Collections.singletonList(new Result(this.alpha, Collections.singletonList(earlier), 2)), "어제", true));
+        inspections.add(inspector.restore(old, Collections.emptyList(), "오래전", true));
+
+        final Checkpoint checkpoint = new Checkpoint(this.folder.getRoot().toPath().resolve("checkpoint.bin"), Duration.ofHours(1));
+        checkpoint.update(inspections);
+
+        MemberArticle.cache.clear();
+        final AllocationInspector restarted = new AllocationInspector(CheckpointTest.CLUB_ID, 2, Arrays.asList(this.alpha, this.beta));
+        Main.inspectors = Collections.singletonList(restarted);
+
+        final List<Inspection> restored = new Checkpoint(checkpoint.getPath(), Duration.ofHours(1)).load(yesterday);
+        assertEquals(2, restored.size());
+
+        final Inspection open = restored.get(0);
+        assertEquals(this.today, open.getDate());
+        assertEquals("오늘", open.getMessage());
+        assertFalse(restarted.isFinalized(this.today));
+        assertEquals(Arrays.asList("alpha", "beta"), open.getResults().stream().map(result -> result.getWriter().getId()).collect(Collectors.toList()));
+        assertTrue(open.getResults().get(1).isIncomplete());
+        assertEquals(Collections.singletonList(other.getId()), CheckpointTest.ids(open.getResults().get(1).getArticles()));
+
+        final Inspection finalized = restored.get(1);
+        assertEquals(yesterday, finalized.getDate());
+        assertTrue(restarted.isFinalized(yesterday));
+        assertFalse(restarted.isFinalized(old));
+
+        final List<MemberArticle> history = restarted.getHistory().get(this.alpha.getId());
+        assertEquals(Arrays.asList(earlier.getId(), later.getId()), CheckpointTest.ids(history));
+        assertEquals(this.today.format(MemberArticle.DATE_FORMAT), history.get(1).getUploadDate());
+        assertEquals(this.today, history.get(1).getUploadLocalDate());
+        assertEquals("09:30", history.get(1).getUploadTime(false));
+        assertEquals(yesterday, history.get(0).getUploadLocalDate());
+        assertNull(restarted.getHistory().get(this.gamma.getId()));
+        assertEquals(Integer.valueOf(later.getId()), restarted.getHighWaterMarks().get(this.alpha.getId()));
+    }
+}
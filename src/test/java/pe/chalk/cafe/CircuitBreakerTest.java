@@ -0,0 +1,81 @@
+package pe.chalk.cafe;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class CircuitBreakerTest {
+    private static void request(CircuitBreaker breaker, boolean success) throws CircuitBreaker.CircuitOpenException {
+        breaker.acquire();
+        breaker.record(success);
+    }
+
+    private static void assertRejected(CircuitBreaker breaker){
+        assertFalse(breaker.isAvailable());
+        try{
+            breaker.acquire();
+            fail("Request was let through while the breaker is " + breaker.getState());
+        }catch(CircuitBreaker.CircuitOpenException ignored){}
+    }
+
+    @Test
+    public void opensOnceFailureRateIsReached() throws CircuitBreaker.CircuitOpenException {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 60_000);
+        CircuitBreakerTest.request(breaker, false);
+        CircuitBreakerTest.request(breaker, false);
+        CircuitBreakerTest.request(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        CircuitBreakerTest.request(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        CircuitBreakerTest.assertRejected(breaker);
+    }
+
+    @Test
+    public void forgetsOutcomesOutsideWindow() throws CircuitBreaker.CircuitOpenException {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 60_000);
+        CircuitBreakerTest.request(breaker, false);
+        for(int i = 0; i < 10; i++) CircuitBreakerTest.request(breaker, true);
+        CircuitBreakerTest.request(breaker, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.isAvailable());
+    }
+
+    @Test
+    public void closesAfterSuccessfulTrial() throws CircuitBreaker.CircuitOpenException {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 1.0, 0);
+        CircuitBreakerTest.request(breaker, false);
+        CircuitBreakerTest.request(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isAvailable());
+
+        breaker.acquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        CircuitBreakerTest.assertRejected(breaker);
+
+        breaker.record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        CircuitBreakerTest.request(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void reopensAfterFailedTrial() throws CircuitBreaker.CircuitOpenException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1, 1.0, 0);
+        CircuitBreakerTest.request(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        breaker.acquire();
+        breaker.record(false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,120 @@
+package pe.chalk.cafe;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class HistoryStoreTest {
+    private static final int CLUB_ID = 23683173;
+    private static final LocalDate FIRST = LocalDate.of(2026, 10, 15);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Member> members = Arrays.asList(
+            new Member(HistoryStoreTest.CLUB_ID, "alpha", "알파"),
+            new Member(HistoryStoreTest.CLUB_ID, "beta", "베타"),
+            new Member(HistoryStoreTest.CLUB_ID, "gamma", "감마"));
+    private final AllocationInspector inspector = new AllocationInspector(HistoryStoreTest.CLUB_ID, 2, this.members);
+
+    private int nextId = 150000;
+
+    private Inspection inspection(LocalDate date, int... sizes){
+        final List<Result> results = new ArrayList<>();
+        for(int i = 0; i < sizes.length; i++){
+            final List<MemberArticle> articles = new ArrayList<>();
+            for(int j = 0; j < sizes[i]; j++){
+                articles.add(new MemberArticle(HistoryStoreTest.CLUB_ID, this.nextId++, "글", 0, date.format(MemberArticle.DATE_FORMAT), this.members.get(i)));
+            }
+            results.add(new Result(this.members.get(i), articles, this.inspector.getAllocatedArticles()));
+        }
+        return new Inspection(this.inspector, date, results, "");
+    }
+
+    private Path write() throws IOException {
+        final Path path = this.folder.getRoot().toPath().resolve(HistoryStoreTest.CLUB_ID + ".history");
+        try(HistoryStore store = new HistoryStore(path)){
+            assertTrue(store.append(this.inspection(HistoryStoreTest.FIRST, 2, 1, 0)));
+            assertTrue(store.append(this.inspection(HistoryStoreTest.FIRST.plusDays(1), 3, 0, 0)));
+            assertTrue(store.append(this.inspection(HistoryStoreTest.FIRST.plusDays(2), 2, 2, 0)));
+            assertFalse(store.append(this.inspection(HistoryStoreTest.FIRST.plusDays(2), 0, 0, 0)));
+        }
+        return path;
+    }
+
+    @Test
+    public void readsBackWhatWasAppended() throws IOException {
+        try(HistoryStore store = new HistoryStore(this.write())){
+            final LocalDate last = HistoryStoreTest.FIRST.plusDays(2);
+            assertTrue(store.contains(last));
+            assertFalse(store.contains(last.plusDays(1)));
+            assertEquals("베타", store.getNickname("beta"));
+
+            final List<HistoryStore.Day> days = store.getDays(HistoryStoreTest.FIRST, last);
+            assertEquals(3, days.size());
+
+            final HistoryStore.Day day = days.get(0);
+            assertEquals(HistoryStoreTest.FIRST, day.getDate());
+            assertEquals(2, day.getAllocatedArticles());
+            assertEquals(3, day.getAssignees());
+            assertEquals(2, day.getAlive());
+            assertEquals(1, day.getSucceeded());
+            assertEquals(3, day.getTotal());
+            assertEquals(1.0, day.getAverage(), 1e-9);
+            assertEquals(Math.sqrt(2.0 / 3), day.getStandardDeviation(), 1e-9);
+
+            final Map<LocalDate, Integer> sizes = store.getSizes("alpha", HistoryStoreTest.FIRST, last);
+            assertEquals(Arrays.asList(2, 3, 2), new ArrayList<>(sizes.values()));
+            assertEquals(0.0, store.getTrend("alpha", HistoryStoreTest.FIRST, last), 1e-9);
+
+            final Map<String, Double> rates = store.getCompletionRates(HistoryStoreTest.FIRST, last);
+            assertEquals(1.0, rates.get("alpha"), 1e-9);
+            assertEquals(1.0 / 3, rates.get("beta"), 1e-9);
+            assertEquals(0.0, rates.get("gamma"), 1e-9);
+
+            final List<HistoryStore.Streak> streaks = store.getMissStreaks(HistoryStoreTest.FIRST, last, 2);
+            assertEquals(2, streaks.size());
+            assertEquals("gamma", streaks.get(0).getMemberId());
+            assertEquals(3, streaks.get(0).getLength());
+            assertEquals("beta", streaks.get(1).getMemberId());
+            assertEquals(HistoryStoreTest.FIRST, streaks.get(1).getStart());
+            assertEquals(2, streaks.get(1).getLength());
+        }
+    }
+
+    @Test
+    public void dropsTornRecord() throws IOException {
+        final Path path = this.write();
+        final long size = Files.size(path);
+        Files.write(path, new byte[]{'D', 0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        try(HistoryStore store = new HistoryStore(path)){
+            assertEquals(3, store.getDays(HistoryStoreTest.FIRST, HistoryStoreTest.FIRST.plusDays(9)).size());
+            assertTrue(store.append(this.inspection(HistoryStoreTest.FIRST.plusDays(3), 1, 1, 1)));
+        }
+        assertTrue(Files.size(path) > size);
+
+        try(HistoryStore store = new HistoryStore(path)){
+            assertEquals(4, store.getDays(HistoryStoreTest.FIRST, HistoryStoreTest.FIRST.plusDays(9)).size());
+        }
+    }
+}
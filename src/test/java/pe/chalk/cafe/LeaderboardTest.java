@@ -0,0 +1,109 @@
+package pe.chalk.cafe;
+
+import org.junit.Test;
+import pe.chalk.takoyaki.model.Member;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class LeaderboardTest {
+    private static final int CLUB_ID = 23683173;
+    private static final int ALLOCATED_ARTICLES = 3;
+
+    private final List<Member> members = new ArrayList<>();
+    private final List<MemberArticle> articles = new ArrayList<>();
+
+    public LeaderboardTest(){
+        final String today = LocalDate.now(AllocationInspector.ZONE).format(MemberArticle.DATE_FORMAT);
+        for(int i = 0; i < 30; i++) this.members.add(new Member(LeaderboardTest.CLUB_ID, "member" + i, "회원" + (i % 7)));
+        for(int i = 0; i < 40; i++){
+            final MemberArticle article = new MemberArticle(LeaderboardTest.CLUB_ID, 720000 + i, "글", 0, today, this.members.get(0));
+            article.setDetails(1, String.format("%02d:%02d", 9 + i / 6, i % 6 * 10));
+            this.articles.add(article);
+        }
+    }
+
+    private Result random(Random random, Member writer){
+        final List<MemberArticle> articles = new ArrayList<>();
+        final int count = random.nextInt(6);
+        for(int i = 0; i < count; i++) articles.add(this.articles.get(random.nextInt(this.articles.size())));
+        articles.sort((a, b) -> a.getId() - b.getId());
+
+        return new Result(writer, articles, LeaderboardTest.ALLOCATED_ARTICLES, random.nextInt(5) == 0);
+    }
+
+    private static void assertSameAsFullSort(Leaderboard leaderboard, Map<String, Result> latest){
+        final List<Result> sorted = latest.values().stream().sorted(Leaderboard.ORDER).collect(Collectors.toList());
+        assertEquals(sorted, leaderboard.getResults());
+        assertEquals(Leaderboard.of(sorted).render(), leaderboard.render());
+
+        for(Result result : sorted){
+            final long before = sorted.stream().filter(other -> Result.COMPARATOR.compare(other, result) < 0).count();
+            assertEquals(before, leaderboard.getRank(result.getWriter().getId()));
+        }
+
+        final List<Result> known = sorted.stream().filter(result -> !result.isUnknown()).collect(Collectors.toList());
+        assertEquals(sorted.size(), leaderboard.size());
+        assertEquals(sorted.size() - known.size(), leaderboard.getUnknown());
+        assertEquals(known.size(), leaderboard.getKnown());
+        assertEquals(known.stream().filter(Result::isAlive).count(), leaderboard.getAlive());
+        assertEquals(known.stream().filter(Result::isSucceeded).count(), leaderboard.getSucceeded());
+        assertEquals(known.stream().mapToLong(Result::size).sum(), leaderboard.getTotal());
+        assertEquals(known.stream().mapToLong(result -> (long) result.size() * result.size()).sum(), leaderboard.getSumOfSquares());
+    }
+
+    @Test
+    public void matchesFullSortAfterRandomUpdates(){
+        final Random random = new Random(20261018);
+        final Leaderboard leaderboard = new Leaderboard();
+        final Map<String, Result> latest = new HashMap<>();
+
+        for(int i = 0; i < 2000; i++){
+            final Result result = this.random(random, this.members.get(random.nextInt(this.members.size())));
+            leaderboard.update(result);
+            latest.put(result.getWriter().getId(), result);
+
+            if(i % 50 == 0) LeaderboardTest.assertSameAsFullSort(leaderboard, latest);
+        }
+        LeaderboardTest.assertSameAsFullSort(leaderboard, latest);
+    }
+
+    @Test
+    public void sharesRankBetweenTies(){
+        final Member first = this.members.get(0), second = this.members.get(1), third = this.members.get(2);
+        final Leaderboard leaderboard = Leaderboard.of(Arrays.asList(
+                new Result(third, this.articles.subList(0, 1), LeaderboardTest.ALLOCATED_ARTICLES),
+                new Result(first, this.articles.subList(0, 2), LeaderboardTest.ALLOCATED_ARTICLES),
+                new Result(second, this.articles.subList(0, 2), LeaderboardTest.ALLOCATED_ARTICLES)));
+
+        assertEquals(0, leaderboard.getRank(first.getId()));
+        assertEquals(0, leaderboard.getRank(second.getId()));
+        assertEquals(2, leaderboard.getRank(third.getId()));
+        assertEquals(-1, leaderboard.getRank("nobody"));
+    }
+
+    @Test
+    public void reportsWhetherLineChanged(){
+        final Member writer = this.members.get(0);
+        final Leaderboard leaderboard = new Leaderboard();
+
+        assertTrue(leaderboard.update(new Result(writer, this.articles.subList(0, 2), LeaderboardTest.ALLOCATED_ARTICLES)));
+        assertFalse(leaderboard.update(new Result(writer, new ArrayList<>(this.articles.subList(0, 2)), LeaderboardTest.ALLOCATED_ARTICLES)));
+        assertTrue(leaderboard.update(new Result(writer, this.articles.subList(0, 2), LeaderboardTest.ALLOCATED_ARTICLES, true)));
+        assertTrue(leaderboard.update(new Result(writer, this.articles.subList(0, 3), LeaderboardTest.ALLOCATED_ARTICLES, true)));
+    }
+}
@@ -0,0 +1,42 @@
+package pe.chalk.cafe;
+
+import org.junit.After;
+import org.junit.Test;
+import pe.chalk.takoyaki.model.Member;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class MemberArticleTest {
+    private static final int FIRST_CLUB_ID = 23683173, SECOND_CLUB_ID = 10050146;
+
+    @After
+    public void tearDown(){
+        MemberArticle.cache.clear();
+    }
+
+    @Test
+    public void cachesArticlesPerClub(){
+        final ArticleRow row = new ArticleRow(750001, "글", 0, "2026.10.18.");
+        final MemberArticle first = MemberArticle.fromRow(row, MemberArticleTest.FIRST_CLUB_ID, new Member(MemberArticleTest.FIRST_CLUB_ID, "alpha", "알파"));
+        final MemberArticle second = MemberArticle.fromRow(row, MemberArticleTest.SECOND_CLUB_ID, new Member(MemberArticleTest.SECOND_CLUB_ID, "beta", "베타"));
+
+        assertNotSame(first, second);
+        assertEquals(MemberArticleTest.SECOND_CLUB_ID, second.getClubId());
+        assertEquals("beta", second.getWriter().getId());
+        assertSame(first, MemberArticle.fromRow(row, MemberArticleTest.FIRST_CLUB_ID, first.getWriter()));
+    }
+
+    @Test
+    public void keysDoNotCollide(){
+        assertNotEquals(MemberArticle.key(1, 2), MemberArticle.key(2, 1));
+        assertEquals(1, MemberArticle.key(1, -1) >>> 32);
+        assertEquals(-1, (int) MemberArticle.key(1, -1));
+    }
+}
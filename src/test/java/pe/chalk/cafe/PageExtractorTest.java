@@ -0,0 +1,68 @@
+package pe.chalk.cafe;
+
+import org.jsoup.Jsoup;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class PageExtractorTest {
+    private final JsoupPageExtractor jsoup = new JsoupPageExtractor();
+    private final StreamingPageExtractor streaming = new StreamingPageExtractor();
+
+    @Test
+    public void rowsOfListPage() throws IOException {
+        String html = PageExtractorTest.load("member-articles.html");
+
+        List<ArticleRow> expected = this.jsoup.extractRows(html);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, this.streaming.extractRows(html));
+        assertEquals(expected, this.jsoup.extractRows(Jsoup.parse(html)));
+    }
+
+    @Test
+    public void detailOfArticlePage() throws IOException {
+        String html = PageExtractorTest.load("article.html");
+
+        ArticleDetail expected = this.jsoup.extractDetail(html);
+        assertNotNull(expected);
+        assertEquals("2026.10.18. 13:37", expected.getDate());
+        assertEquals(expected, this.streaming.extractDetail(html));
+        assertEquals(expected, this.jsoup.extractDetail(Jsoup.parse(html)));
+    }
+
+    @Test
+    public void pageWithoutHeader() throws IOException {
+        String html = PageExtractorTest.load("member-articles.html");
+
+        assertNull(this.jsoup.extractDetail(html));
+        assertNull(this.streaming.extractDetail(html));
+    }
+
+    private static String load(String name) throws IOException {
+        try(InputStream stream = PageExtractorTest.class.getResourceAsStream("/fixtures/" + name)){
+            assertNotNull("Fixture not found: " + name, stream);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8 * 1024];
+
+            int read;
+            while((read = stream.read(buffer)) >= 0){
+                output.write(buffer, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pe.chalk.cafe;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pe.chalk.takoyaki.model.Member;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class ReportWriterTest {
+    private static final int CLUB_ID = 23683173;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AllocationInspector inspector = new AllocationInspector(ReportWriterTest.CLUB_ID, 2, Collections.singletonList(new Member(ReportWriterTest.CLUB_ID, "alpha", "알파")));
+
+    private Inspection inspection(String message){
+        return new Inspection(this.inspector, LocalDate.of(2026, 10, 18), Collections.emptyList(), message);
+    }
+
+    @Test
+    public void writesOnlyWhenChanged() throws IOException {
+        final Path output = this.folder.getRoot().toPath().resolve("report.html");
+        final ReportWriter writer = new ReportWriter(output, "<pre>%s</pre>");
+
+        assertTrue(writer.write(Collections.singletonList(this.inspection("첫번째"))));
+        assertFalse(writer.write(Collections.singletonList(this.inspection("첫번째"))));
+        assertEquals("<pre>첫번째</pre>", new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void keepsPermissionsOfReport() throws IOException {
+        final Path output = this.folder.getRoot().toPath().resolve("report.html");
+        final ReportWriter writer = new ReportWriter(output, "%s");
+
+        writer.write(Collections.singletonList(this.inspection("첫번째")));
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(output)));
+
+        Files.setPosixFilePermissions(output, PosixFilePermissions.fromString("rw-rw-r--"));
+        writer.write(Collections.singletonList(this.inspection("두번째")));
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(output)));
+    }
+}
@@ -0,0 +1,52 @@
+package pe.chalk.cafe;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent <agent@local>
+ * @since 2026-10-18
+ */
+public class SchedulerTest {
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 18);
+
+    private final Scheduler scheduler = new Scheduler(new JSONObject()
+            .put("pollInterval", 300).put("deadlinePollInterval", 60).put("deadlineWindow", 1800)
+            .put("finalizeDelay", 600).put("maxBackoff", 3600));
+
+    @Before
+    public void setUp(){
+        Main.midnightHour = 0;
+    }
+
+    private static ZonedDateTime at(int hour, int minute){
+        return SchedulerTest.DATE.atTime(hour, minute).atZone(AllocationInspector.ZONE);
+    }
+
+    @Test
+    public void pollsFasterInsideDeadlineWindow(){
+        assertEquals(Duration.ofSeconds(301), this.scheduler.getDelay(SchedulerTest.at(12, 0), 0));
+        assertEquals(Duration.ofSeconds(61), this.scheduler.getDelay(SchedulerTest.at(23, 45), 0));
+    }
+
+    @Test
+    public void backsOffWhilePassesFail(){
+        assertEquals(Duration.ofSeconds(300), this.scheduler.getDelay(SchedulerTest.at(12, 0), 1));
+        assertEquals(Duration.ofSeconds(1200), this.scheduler.getDelay(SchedulerTest.at(12, 0), 3));
+        assertEquals(Duration.ofSeconds(3600), this.scheduler.getDelay(SchedulerTest.at(12, 0), 10));
+    }
+
+    @Test
+    public void neverBacksOffPastDeadlineWindow(){
+        assertEquals(Duration.ofSeconds(60), this.scheduler.getDelay(SchedulerTest.at(23, 45), 1));
+        assertEquals(Duration.ofSeconds(60), this.scheduler.getDelay(SchedulerTest.at(23, 45), 10));
+        assertEquals(Duration.ofSeconds(20 * 60 + 1), this.scheduler.getDelay(SchedulerTest.at(23, 10), 10));
+    }
+}